@@ -0,0 +1,62 @@
+import java.util.List;
+
+import benchmark.ScoringTarget;
+
+/**
+ * Call the stage1 operations that are benchmarked, on behalf of the benchmarks in the benchmark package.
+ */
+public class Stage1Target implements ScoringTarget
+{
+    private InputReader inputReader = new InputReader();
+    private World world;
+
+    @Override
+    public int[] parseWorld(String worldAndRidesFileName) {
+        return inputReader.parseWorld(worldAndRidesFileName);
+    }
+
+    @Override
+    public List<int[]> parseInput(String allocationFileName) {
+        return inputReader.parseInput(allocationFileName);
+    }
+
+    @Override
+    public void load(String worldAndRidesFileName, String allocationFileName) {
+        world = new World(worldAndRidesFileName, allocationFileName);
+        world.initialise();
+        world.checkNoOfRides();
+    }
+
+    @Override
+    public int calculateScore() {
+        return world.calculateScore();
+    }
+
+    @Override
+    public int calculateScoreParallel() {
+        return world.calculateScoreParallel();
+    }
+
+    @Override
+    public String checkVehicleNo() {
+        return world.checkVehicleNo();
+    }
+
+    @Override
+    public String checkNoOfRides(List<int[]> allocation) {
+        World counting = new World(null, null);
+        counting.setAllocationArray(allocation);
+        return counting.checkNoOfRides();
+    }
+
+    @Override
+    public String checkRideID() {
+        return world.checkRideID();
+    }
+
+    @Override
+    public int validateAndScore() {
+        Score score = new Score();
+        return world.validateAndScore(score) == null ? score.total() : -1;
+    }
+}
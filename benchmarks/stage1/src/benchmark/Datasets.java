@@ -0,0 +1,28 @@
+package benchmark;
+
+import java.io.File;
+
+/**
+ * Locate the files of the datasets used by the benchmarks.
+ * The benchmarks are run from the root of the repository, unless -Dhashcode.dir gives the stage1 directory.
+ */
+public class Datasets
+{
+    private static final String DIRECTORY = System.getProperty("hashcode.dir", "stage1");
+
+    /**
+     * @param name The name of the dataset, from a to e
+     * @return The name of the input file of the dataset
+     */
+    public static String input(String name) {
+        return DIRECTORY + File.separator + "in" + File.separator + name + ".in";
+    }
+
+    /**
+     * @param name The name of the dataset, from a to e
+     * @return The name of the allocation file of the dataset
+     */
+    public static String allocation(String name) {
+        return DIRECTORY + File.separator + "out" + File.separator + name + ".out";
+    }
+}
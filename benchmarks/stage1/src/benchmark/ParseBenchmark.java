@@ -0,0 +1,48 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark reading the input file and the allocation file of each dataset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark
+{
+    @Param({"a", "b", "c", "d", "e"})
+    public String dataset;
+
+    private ScoringTarget target;
+
+    @Setup
+    public void setUp() {
+        target = ScoringTarget.create();
+    }
+
+    @Benchmark
+    public int[] parseWorld() {
+        return target.parseWorld(Datasets.input(dataset));
+    }
+
+    @Benchmark
+    public List<int[]> parseInput() {
+        return target.parseInput(Datasets.allocation(dataset));
+    }
+}
@@ -0,0 +1,91 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark validating and scoring the allocation file of each dataset.
+ * The world and the allocation are read once. checkNoOfRides strips the number of rides from each line
+ * of the allocation, so it is given the lines as read each time, and calculateScore moves the vehicles
+ * of the world, so it is given a world read again before each call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreBenchmark
+{
+    @Param({"a", "b", "c", "d", "e"})
+    public String dataset;
+
+    private ScoringTarget target;
+    // The lines of the allocation as read, with the number of rides first
+    private List<int[]> allocation;
+
+    @Setup
+    public void setUp() {
+        target = ScoringTarget.create();
+        target.load(Datasets.input(dataset), Datasets.allocation(dataset));
+        allocation = target.parseInput(Datasets.allocation(dataset));
+    }
+
+    /**
+     * A world read again before each call, for the benchmarks that change it.
+     */
+    @State(Scope.Thread)
+    public static class FreshWorld
+    {
+        private ScoringTarget target;
+
+        @Setup(Level.Invocation)
+        public void setUp(ScoreBenchmark benchmark) {
+            target = ScoringTarget.create();
+            target.load(Datasets.input(benchmark.dataset), Datasets.allocation(benchmark.dataset));
+        }
+    }
+
+    @Benchmark
+    public int calculateScore(FreshWorld fresh) {
+        return fresh.target.calculateScore();
+    }
+
+    @Benchmark
+    public int calculateScoreParallel() {
+        return target.calculateScoreParallel();
+    }
+
+    @Benchmark
+    public String checkVehicleNo() {
+        return target.checkVehicleNo();
+    }
+
+    @Benchmark
+    public String checkNoOfRides() {
+        return target.checkNoOfRides(allocation);
+    }
+
+    @Benchmark
+    public String checkRideID() {
+        return target.checkRideID();
+    }
+
+    @Benchmark
+    public int validateAndScore() {
+        return target.validateAndScore();
+    }
+}
@@ -0,0 +1,51 @@
+package benchmark;
+
+import java.util.List;
+
+/**
+ * The stage1 operations that are benchmarked.
+ * The classes of stage1 are in the default package, which classes in a package cannot refer to, and JMH
+ * needs the benchmarks to be in a package. So the operations are called through this interface, which is
+ * implemented by Stage1Target in the default package.
+ */
+public interface ScoringTarget
+{
+    int[] parseWorld(String worldAndRidesFileName);
+
+    List<int[]> parseInput(String allocationFileName);
+
+    /**
+     * Read a world and its allocation, and strip the number of rides from each line of the allocation,
+     * the way Main does before scoring.
+     */
+    void load(String worldAndRidesFileName, String allocationFileName);
+
+    int calculateScore();
+
+    int calculateScoreParallel();
+
+    String checkVehicleNo();
+
+    /**
+     * Check the number of rides of each line of an allocation, as read.
+     */
+    String checkNoOfRides(List<int[]> allocation);
+
+    String checkRideID();
+
+    /**
+     * @return The total score, or -1 if the allocation is not valid
+     */
+    int validateAndScore();
+
+    /**
+     * @return A new Stage1Target
+     */
+    static ScoringTarget create() {
+        try {
+            return (ScoringTarget) Class.forName("Stage1Target").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Stage1Target is not on the class path", e);
+        }
+    }
+}
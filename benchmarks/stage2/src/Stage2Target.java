@@ -0,0 +1,50 @@
+import benchmark.SolvingTarget;
+
+import java.nio.file.Paths;
+
+/**
+ * Call the stage2 operations that are benchmarked, on behalf of the benchmarks in the benchmark package.
+ */
+public class Stage2Target implements SolvingTarget
+{
+    private InputReader inputReader = new InputReader();
+    private World world;
+
+    @Override
+    public int[] parseWorld(String worldAndRidesFileName) {
+        return inputReader.parseWorld(worldAndRidesFileName);
+    }
+
+    @Override
+    public void convert(String worldAndRidesFileName, String binaryFileName) throws Exception {
+        BinaryWorld.write(inputReader.parseWorld(worldAndRidesFileName), Paths.get(binaryFileName));
+    }
+
+    @Override
+    public void load(String worldAndRidesFileName) {
+        world = new World(worldAndRidesFileName);
+        world.initialise();
+    }
+
+    @Override
+    public int buildGraph() {
+        return world.buildRideGraph().getNoOfEdges();
+    }
+
+    @Override
+    public void solve(String solver) {
+        switch (solver) {
+            case "event":
+                world.solveEventDriven();
+                break;
+            case "batch":
+                world.solveBatch();
+                break;
+            case "concurrent":
+                world.solveConcurrent();
+                break;
+            default:
+                world.solve();
+        }
+    }
+}
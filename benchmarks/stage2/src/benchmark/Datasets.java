@@ -0,0 +1,66 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Locate the files of the datasets used by the benchmarks, and make larger copies of them.
+ * The benchmarks are run from the root of the repository, unless -Dhashcode.dir gives the stage2 directory.
+ */
+public class Datasets
+{
+    private static final String DIRECTORY = System.getProperty("hashcode.dir", "stage2");
+
+    /**
+     * @param name The name of the dataset, from a to e
+     * @return The name of the input file of the dataset
+     */
+    public static String input(String name) {
+        return DIRECTORY + File.separator + "in" + File.separator + name + ".in";
+    }
+
+    /**
+     * Write a dataset scaled up by a factor to a temporary file: every ride is repeated that many times,
+     * and there are that many times more vehicles, on the same grid and over the same steps.
+     *
+     * @param name The name of the dataset, from a to e
+     * @param scale The number of copies of each ride and each vehicle
+     * @return The name of the temporary file, which is deleted when the JVM exits
+     * @throws IOException If the dataset cannot be read or the copy cannot be written
+     */
+    public static String scaled(String name, int scale) throws IOException {
+        Path file = Paths.get(temporary(name + "-x" + scale + "-", ".in"));
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(input(name)));
+             BufferedWriter writer = Files.newBufferedWriter(file)) {
+            String[] header = reader.readLine().trim().split("\\s+");
+            header[2] = Integer.toString(Integer.parseInt(header[2]) * scale);
+            header[3] = Integer.toString(Integer.parseInt(header[3]) * scale);
+            writer.write(String.join(" ", header));
+            writer.newLine();
+            for (String line; (line = reader.readLine()) != null; ) {
+                for (int i = 0; i < scale; i++) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+        return file.toString();
+    }
+
+    /**
+     * @param prefix The start of the name of the file
+     * @param suffix The end of the name of the file
+     * @return The name of a new temporary file, which is deleted when the JVM exits
+     * @throws IOException If the file cannot be created
+     */
+    public static String temporary(String prefix, String suffix) throws IOException {
+        Path file = Files.createTempFile(prefix, suffix);
+        file.toFile().deleteOnExit();
+        return file.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark building the ride graph of each dataset, and of each dataset scaled up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class GraphBenchmark
+{
+    @Param({"b", "c", "d", "e"})
+    public String dataset;
+
+    @Param({"1", "10"})
+    public int scale;
+
+    private SolvingTarget target;
+
+    @Setup
+    public void setUp() throws Exception {
+        target = SolvingTarget.create();
+        target.load(scale == 1 ? Datasets.input(dataset) : Datasets.scaled(dataset, scale));
+    }
+
+    @Benchmark
+    public int buildGraph() {
+        return target.buildGraph();
+    }
+}
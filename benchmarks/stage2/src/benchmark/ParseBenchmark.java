@@ -0,0 +1,62 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark reading the input file of each dataset, and of each dataset scaled up.
+ * loadWorld reads the whole world into a World, from the text file or from the same world converted to binary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark
+{
+    @Param({"a", "b", "c", "d", "e"})
+    public String dataset;
+
+    @Param({"1", "10"})
+    public int scale;
+
+    @Param({"text", "binary"})
+    public String format;
+
+    private SolvingTarget target;
+    private String fileName;
+    private String worldFileName;
+
+    @Setup
+    public void setUp() throws Exception {
+        target = SolvingTarget.create();
+        fileName = scale == 1 ? Datasets.input(dataset) : Datasets.scaled(dataset, scale);
+        worldFileName = fileName;
+        if (format.equals("binary")) {
+            worldFileName = Datasets.temporary(dataset + "-x" + scale + "-", ".bin");
+            target.convert(fileName, worldFileName);
+        }
+    }
+
+    @Benchmark
+    public int[] parseWorld() {
+        return target.parseWorld(fileName);
+    }
+
+    @Benchmark
+    public void loadWorld() {
+        target.load(worldFileName);
+    }
+}
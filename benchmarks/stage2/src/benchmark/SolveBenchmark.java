@@ -0,0 +1,58 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark solving each dataset, and each dataset scaled up, with each solver.
+ * A solver assigns the rides of the world it is given, so the world is read again before each call.
+ * A call takes up to several seconds on the larger datasets, hence the longer iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class SolveBenchmark
+{
+    @Param({"a", "b", "c", "d", "e"})
+    public String dataset;
+
+    @Param({"1", "4"})
+    public int scale;
+
+    @Param({"tick", "event", "batch", "concurrent"})
+    public String solver;
+
+    private String fileName;
+    private SolvingTarget target;
+
+    @Setup
+    public void setUp() throws Exception {
+        fileName = scale == 1 ? Datasets.input(dataset) : Datasets.scaled(dataset, scale);
+    }
+
+    @Setup(Level.Invocation)
+    public void readWorld() {
+        target = SolvingTarget.create();
+        target.load(fileName);
+    }
+
+    @Benchmark
+    public void solve() {
+        target.solve(solver);
+    }
+}
@@ -0,0 +1,48 @@
+package benchmark;
+
+/**
+ * The stage2 operations that are benchmarked.
+ * The classes of stage2 are in the default package, which classes in a package cannot refer to, and JMH
+ * needs the benchmarks to be in a package. So the operations are called through this interface, which is
+ * implemented by Stage2Target in the default package.
+ */
+public interface SolvingTarget
+{
+    int[] parseWorld(String worldAndRidesFileName);
+
+    /**
+     * Convert an input file to a binary world.
+     */
+    void convert(String worldAndRidesFileName, String binaryFileName) throws Exception;
+
+    /**
+     * Read a world, text or binary, with no rides assigned yet.
+     */
+    void load(String worldAndRidesFileName);
+
+    /**
+     * Build the ride graph of the world.
+     *
+     * @return The number of edges of the graph
+     */
+    int buildGraph();
+
+    /**
+     * Assign the rides of the world.
+     *
+     * @param solver "tick" for World.solve, "event" for World.solveEventDriven, "batch" for World.solveBatch
+     *               or "concurrent" for World.solveConcurrent
+     */
+    void solve(String solver);
+
+    /**
+     * @return A new Stage2Target
+     */
+    static SolvingTarget create() {
+        try {
+            return (SolvingTarget) Class.forName("Stage2Target").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Stage2Target is not on the class path", e);
+        }
+    }
+}
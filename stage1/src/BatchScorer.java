@@ -0,0 +1,121 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The BatchScorer scores many allocation files against one world that has been read once.
+ * The allocation files are scored at the same time, each into its own Score, since scoring only reads the world.
+ */
+public class BatchScorer {
+
+    // The world that every allocation is scored against
+    private World world;
+
+    /**
+     * @param world The world, already initialised with initialiseWorld
+     */
+    public BatchScorer(World world) {
+        this.world = world;
+    }
+
+    /**
+     * The result of scoring one allocation file.
+     */
+    public static class Result {
+        private final String fileName;
+        private final Score score;
+        private final String error;
+
+        Result(String fileName, Score score, String error) {
+            this.fileName = fileName;
+            this.score = score;
+            this.error = error;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public Score getScore() {
+            return score;
+        }
+
+        /**
+         * @return The error message, or null if the allocation is valid
+         */
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * Find the allocation files to be scored. A directory stands for every .out file in it.
+     *
+     * @param paths Allocation files or directories
+     * @return The allocation files, in the order given, with the files of each directory sorted by name
+     * @throws IOException If a directory cannot be read
+     */
+    public static List<String> findAllocationFiles(List<String> paths) throws IOException {
+        List<String> files = new ArrayList<>();
+        for (String path : paths) {
+            Path p = Paths.get(path);
+            if (Files.isDirectory(p)) {
+                try (Stream<Path> children = Files.list(p)) {
+                    children.filter(child -> child.toString().endsWith(".out"))
+                            .map(Path::toString)
+                            .sorted()
+                            .forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Validate and score every allocation file, in parallel.
+     *
+     * @param allocationFileNames The allocation files
+     * @return The results, valid allocations first from the highest score, then invalid ones by file name
+     */
+    public List<Result> scoreAll(List<String> allocationFileNames) {
+        return allocationFileNames.parallelStream()
+                .map(fileName -> {
+                    Score score = new Score();
+                    String error = world.validateAndScore(fileName, score);
+                    return new Result(fileName, score, error);
+                })
+                .sorted(Comparator.comparing((Result result) -> result.getError() != null)
+                        .thenComparing(result -> -result.getScore().total())
+                        .thenComparing(Result::getFileName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Print the results as a table of file, score, bonus count and late count.
+     * Invalid allocations are listed with the first line of their error message instead.
+     *
+     * @param results The results to be printed
+     * @param out Where the table is printed
+     */
+    public static void printTable(List<Result> results, PrintStream out) {
+        int width = "file".length();
+        for (Result result : results) {
+            width = Math.max(width, result.getFileName().length());
+        }
+        String format = "%-" + width + "s  %12s  %8s  %8s%n";
+        out.printf(format, "file", "score", "bonus", "late");
+        for (Result result : results) {
+            if (result.getError() == null) {
+                Score score = result.getScore();
+                out.printf(format, result.getFileName(), score.total(), score.getBonus(), score.getLate());
+            } else {
+                out.printf("%-" + width + "s  invalid: %s%n", result.getFileName(), result.getError().split("\n")[0]);
+            }
+        }
+    }
+}
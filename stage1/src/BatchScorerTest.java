@@ -0,0 +1,126 @@
+import org.junit.Test;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class BatchScorerTest {
+
+    // Holds the input file and a directory of allocation files
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+    private BatchScorer scorer;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // The example input of the problem statement, with 2 vehicles and 3 rides
+        File input = folder.newFile("example.in");
+        Files.write(input.toPath(), "3 4 2 3 2 10\n0 0 1 3 2 9\n1 2 1 0 0 9\n2 0 2 2 0 9\n".getBytes());
+        World world = new World(input.toString(), null);
+        world.initialiseWorld();
+        scorer = new BatchScorer(world);
+
+        directory = folder.newFolder("allocations");
+        // The solution of the example, scoring 10
+        writeAllocation("best.out", "1 0\n2 2 1\n");
+        // Every ride to the first vehicle, scoring 6
+        writeAllocation("middle.out", "3 0 2 1\n0\n");
+        // Only the last ride, scoring 2
+        writeAllocation("low.out", "1 2\n0\n");
+        // A ride that does not exist
+        writeAllocation("b_invalid.out", "1 5\n0\n");
+        // A vehicle missing
+        writeAllocation("a_invalid.out", "1 0\n");
+        // Not an allocation file, so not in the batch
+        writeAllocation("notes.txt", "1 0\n2 2 1\n");
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+
+    }
+
+    // Tests for findAllocationFiles()
+    @Test
+    public void testFindAllocationFilesInDirectory() throws Exception {
+        List<String> files = BatchScorer.findAllocationFiles(Collections.singletonList(directory.toString()));
+        assertEquals(Arrays.asList(path("a_invalid.out"), path("b_invalid.out"), path("best.out"), path("low.out"),
+                path("middle.out")), files);
+    }
+
+    // Tests for scoreAll()
+    /**
+     * Test that valid allocations come first from the highest score, then invalid ones by file name
+     */
+    @Test
+    public void testScoreAllSortsByScoreWithInvalidLast() throws Exception {
+        List<BatchScorer.Result> results =
+                scorer.scoreAll(BatchScorer.findAllocationFiles(Collections.singletonList(directory.toString())));
+        assertEquals(5, results.size());
+        assertEquals(path("best.out"), results.get(0).getFileName());
+        assertNull(results.get(0).getError());
+        assertEquals(10, results.get(0).getScore().total());
+        assertEquals(path("middle.out"), results.get(1).getFileName());
+        assertNull(results.get(1).getError());
+        assertEquals(6, results.get(1).getScore().total());
+        assertEquals(path("low.out"), results.get(2).getFileName());
+        assertNull(results.get(2).getError());
+        assertEquals(2, results.get(2).getScore().total());
+        assertEquals(path("a_invalid.out"), results.get(3).getFileName());
+        assertNotNull(results.get(3).getError());
+        assertEquals(path("b_invalid.out"), results.get(4).getFileName());
+        assertNotNull(results.get(4).getError());
+    }
+
+    // Tests for printTable()
+    @Test
+    public void testPrintTable() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BatchScorer.printTable(
+                scorer.scoreAll(BatchScorer.findAllocationFiles(Collections.singletonList(directory.toString()))),
+                new PrintStream(bytes, true));
+        String[] lines = bytes.toString().split("\\R");
+        assertEquals(6, lines.length);
+        assertTrue(lines[0].matches("file\\s+score\\s+bonus\\s+late"));
+        assertTrue(lines[1].matches(quote("best.out") + "\\s+10\\s+1\\s+0"));
+        assertTrue(lines[2].matches(quote("middle.out") + "\\s+6\\s+1\\s+2"));
+        assertTrue(lines[3].matches(quote("low.out") + "\\s+2\\s+0\\s+0"));
+        assertTrue(lines[4].matches(quote("a_invalid.out") + "\\s+invalid: .+"));
+        assertTrue(lines[5].matches(quote("b_invalid.out") + "\\s+invalid: .+"));
+    }
+
+    private void writeAllocation(String name, String allocation) throws Exception {
+        Files.write(new File(directory, name).toPath(), allocation.getBytes());
+    }
+
+    private String path(String name) {
+        return new File(directory, name).toString();
+    }
+
+    private String quote(String name) {
+        return Pattern.quote(path(name));
+    }
+}
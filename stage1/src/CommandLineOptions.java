@@ -0,0 +1,38 @@
+import com.beust.jcommander.Parameter;
+
+import java.util.*;
+
+/**
+ * The command line options of the scorer, parsed with JCommander.
+ */
+public class CommandLineOptions {
+
+    @Parameter(description = "<input file> <allocation file>, or with --batch: <input file> <allocation files or directories>...")
+    private List<String> files = new ArrayList<>();
+
+    @Parameter(names = "--parallel", description = "Score the vehicles of the allocation on all cores")
+    private boolean parallel = false;
+
+    @Parameter(names = "--batch", description = "Score many allocation files against the same input file")
+    private boolean batch = false;
+
+    @Parameter(names = {"--help", "-h"}, help = true, description = "Print this help")
+    private boolean help = false;
+
+    // Getters for each option
+    public List<String> getFiles() {
+        return files;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public boolean isBatch() {
+        return batch;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+}
@@ -34,4 +34,27 @@ public class LocationTest {
         assertEquals(location1, location3);
         assertNotEquals(location1, location2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPack() {
+        long packed = Location.pack(70000, 3);
+        assertEquals(70000, Location.xOf(packed));
+        assertEquals(3, Location.yOf(packed));
+        assertEquals(new Location(70000, 3), Location.of(packed));
+        assertEquals(packed, new Location(70000, 3).getPacked());
+    }
+
+    @Test
+    public void testManhattan() {
+        assertEquals(4, Location.manhattan(location2.getPacked(), location1.getPacked()));
+        assertEquals(Integer.MAX_VALUE - 1, Location.manhattan(Location.pack(Integer.MAX_VALUE, 0),
+                Location.pack(1, 0)));
+    }
+
+    @Test
+    public void testHashCodeOnWideGrid() {
+        // The old hash code was the same for [65536, 0] and [0, 1]
+        assertNotEquals(new Location(65536, 0).hashCode(), new Location(0, 1).hashCode());
+        assertEquals(new Location(65536, 0).hashCode(), Location.of(Location.pack(65536, 0)).hashCode());
+    }
+}
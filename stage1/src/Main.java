@@ -1,19 +1,65 @@
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.ParameterException;
+
+import java.io.IOException;
+import java.util.*;
+
 public class Main {
 
     public static void main(String[] args) {
-        String worldAndRidesFileName = args[0];
-        String allocationFileName = args[1];
-        World world = new World(worldAndRidesFileName, allocationFileName);
-        world.initialise();
-        if (world.checkVehicleNo() != null) {
-            world.printError(world.checkVehicleNo());
+        CommandLineOptions options = new CommandLineOptions();
+        JCommander commander = JCommander.newBuilder().addObject(options).programName("Main").build();
+        try {
+            commander.parse(args);
+        } catch (ParameterException e) {
+            System.err.println(e.getMessage());
+            commander.usage();
+            System.exit(1);
+        }
+        List<String> files = options.getFiles();
+        if (options.isHelp() || files.size() < 2 || (!options.isBatch() && files.size() > 2)) {
+            commander.usage();
+            System.exit(options.isHelp() ? 0 : 1);
         }
-        if (world.checkNoOfRides() != null) {
-            world.printError(world.checkNoOfRides());
+        String worldAndRidesFileName = files.get(0);
+
+        if (options.isBatch()) {
+            World world = new World(worldAndRidesFileName, null);
+            world.initialiseWorld();
+            try {
+                List<String> allocationFileNames = BatchScorer.findAllocationFiles(files.subList(1, files.size()));
+                BatchScorer.printTable(new BatchScorer(world).scoreAll(allocationFileNames), System.out);
+            } catch (IOException e) {
+                System.err.println("A problem was encountered reading the directory: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        String allocationFileName = files.get(1);
+        World world = new World(worldAndRidesFileName, allocationFileName);
+        // Score the vehicles on all cores
+        if (options.isParallel()) {
+            world.initialise();
+            if (world.checkVehicleNo() != null) {
+                world.printError(world.checkVehicleNo());
+            }
+            if (world.checkNoOfRides() != null) {
+                world.printError(world.checkNoOfRides());
+            }
+            if (world.checkRideID() != null) {
+                world.printError(world.checkRideID());
+            }
+            System.out.println(world.calculateScoreParallel());
+            return;
         }
-        if (world.checkRideID() != null) {
-            world.printError(world.checkRideID());
+        world.initialiseWorld();
+        // Validate and score the allocation file while reading it
+        Score score = new Score();
+        String error = world.validateAndScore(score);
+        if (error != null) {
+            world.printError(error);
         }
-        System.out.println(world.calculateScore());
+        System.out.println(score.total());
     }
-}
\ No newline at end of file
+}
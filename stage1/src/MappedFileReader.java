@@ -0,0 +1,164 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * MappedFileReader reads whitespace separated integers from a memory-mapped text file.
+ * Digits are scanned straight from the mapped bytes, so no String or array is created per number or per line.
+ * Files larger than the mapping window are mapped one window at a time.
+ */
+public class MappedFileReader implements AutoCloseable
+{
+    // Size of the part of the file that is mapped at once
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private FileChannel channel;
+    // Size of the file in bytes
+    private long fileSize;
+    // Position in the file of the first byte of the window
+    private long windowStart;
+    // The mapped part of the file
+    private MappedByteBuffer window;
+    // Integers of the last line read by nextLine
+    private int[] line;
+    // The byte that ended the last number read
+    private int last;
+
+    /**
+     * Constructor of MappedFileReader
+     *
+     * @param fileName The name of the file to be read
+     * @throws IOException If the file cannot be opened or mapped
+     */
+    public MappedFileReader(String fileName) throws IOException {
+        channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+        fileSize = channel.size();
+        windowStart = 0;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(WINDOW_SIZE, fileSize));
+        line = new int[16];
+    }
+
+    /**
+     * Read the next integer in the file, on this line or any line after it.
+     *
+     * @return The next integer
+     * @throws EOFException If there are no integers left in the file
+     * @throws IOException If the file cannot be mapped
+     */
+    public int nextInt() throws IOException {
+        int c = read();
+        while (isSeparator(c)) {
+            c = read();
+        }
+        if (c < 0) {
+            throw new EOFException();
+        }
+        return parseInt(c);
+    }
+
+    /**
+     * Read all the integers on the next line that is not blank.
+     *
+     * @return The number of integers on the line, or -1 if there are no lines left in the file
+     * @throws IOException If the file cannot be mapped
+     */
+    public int nextLine() throws IOException {
+        int count = 0;
+        int c = read();
+        while (c >= 0) {
+            if (c == '\n') {
+                if (count > 0) {
+                    return count;
+                }
+            } else if (!isSeparator(c)) {
+                if (count == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[count++] = parseInt(c);
+                // parseInt stops on the byte after the number, which may end the line
+                c = last;
+                continue;
+            }
+            c = read();
+        }
+        return count > 0 ? count : -1;
+    }
+
+    /**
+     * @return The size of the file in bytes
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * @return The integers of the last line read by nextLine. The array is reused by the next call.
+     */
+    public int[] getLine() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Private methods
+    /**
+     * Parse a number starting with the byte c, and remember the byte that ended it in last.
+     *
+     * @throws IOException If the number does not fit in an int
+     */
+    private int parseInt(int c) throws IOException {
+        boolean negative = false;
+        if (c == '-') {
+            negative = true;
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Unexpected character '" + (char) c + "' at byte " + position());
+        }
+        // The largest magnitude the number can have, one more for a negative number as for Integer.parseInt
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            if (value > limit) {
+                throw new IOException("Number out of range at byte " + position());
+            }
+            c = read();
+        }
+        if (c >= 0 && !isSeparator(c)) {
+            throw new NumberFormatException("Unexpected character '" + (char) c + "' at byte " + position());
+        }
+        last = c;
+        return (int) (negative ? -value : value);
+    }
+
+    private static boolean isSeparator(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    /**
+     * Return the next byte of the file, or -1 at the end of the file.
+     */
+    private int read() throws IOException {
+        if (!window.hasRemaining()) {
+            long nextStart = windowStart + window.limit();
+            if (nextStart >= fileSize) {
+                return -1;
+            }
+            windowStart = nextStart;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(WINDOW_SIZE, fileSize - windowStart));
+        }
+        return window.get() & 0xFF;
+    }
+
+    private long position() {
+        return windowStart + window.position();
+    }
+}
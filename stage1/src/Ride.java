@@ -1,3 +1,5 @@
+import java.util.Objects;
+
 /**
  * Model the rides.
  * A ride holds the starting and finishing coordinates of the ride, the earliest start step, and the latest finish step.
@@ -6,10 +8,10 @@ public class Ride {
 
     // The ID of each ride
     private int rid;
-    // The coordinate of the starting point
-    private Location pickup;
-    // The coordinate of the finishing point
-    private Location destination;
+    // The coordinate of the starting point, packed by Location
+    private long pickup;
+    // The coordinate of the finishing point, packed by Location
+    private long destination;
     // The earliest start of the ride
     private int earliestStart;
     // The latest finish of the ride
@@ -24,16 +26,21 @@ public class Ride {
      * @param latestFinish the latest finish of the ride
      */
     public Ride(int rid, Location pickup, Location destination, int earliestStart, int latestFinish) {
+        this(rid, Objects.requireNonNull(pickup, "Pickup location").getPacked(),
+                Objects.requireNonNull(destination, "Destination location").getPacked(), earliestStart, latestFinish);
+    }
+
+    /**
+     * @param rid the ID of this ride
+     * @param pickup the starting point, packed by Location
+     * @param destination the finishing point, packed by Location
+     * @param earliestStart the earliest start of the ride
+     * @param latestFinish the latest finish of the ride
+     */
+    public Ride(int rid, long pickup, long destination, int earliestStart, int latestFinish) {
         this.rid = rid;
-        if(pickup == null) {
-            throw new NullPointerException("Pickup location");
-        }
-        if(destination == null) {
-            throw new NullPointerException("Destination location");
-        }
         this.pickup = pickup;
         this.destination = destination;
-
         this.earliestStart = earliestStart;
         this.latestFinish = latestFinish;
     }
@@ -44,7 +51,7 @@ public class Ride {
      * @return The Manhattan distance between the starting point and the finish point
      */
     public int calculateDistance() {
-        return pickup.distanceTo(destination);
+        return Location.manhattan(pickup, destination);
     }
 
     /**
@@ -56,8 +63,8 @@ public class Ride {
     public String toString() {
         return "Ride {" +
                 "id=" + rid +
-                ", Starting coordinate:" + pickup.toString() +
-                ", Finishing coordinate:"+ destination.toString() +
+                ", Starting coordinate:" + Location.of(pickup) +
+                ", Finishing coordinate:"+ Location.of(destination) +
                 ", earlierStart:" + earliestStart +
                 ", latestFinish:" + latestFinish +
                 '}';
@@ -77,13 +84,29 @@ public class Ride {
      */
     public Location getPickupLocation()
     {
-        return pickup;
+        return Location.of(pickup);
     }
 
     /**
      * @return The destination location.
      */
     public Location getDestination()
+    {
+        return Location.of(destination);
+    }
+
+    /**
+     * @return The pickup location, packed by Location.
+     */
+    public long getPackedPickup()
+    {
+        return pickup;
+    }
+
+    /**
+     * @return The destination location, packed by Location.
+     */
+    public long getPackedDestination()
     {
         return destination;
     }
@@ -0,0 +1,69 @@
+import java.util.*;
+
+/**
+ * The RideIDValidator checks the ride IDs of an allocation one by one, and collects an error message
+ * for every ride ID that is out of range and every ride that is assigned more than once.
+ * Assigned rides are tracked in a BitSet with one bit per ride, so each check takes constant time.
+ */
+public class RideIDValidator {
+    // Number of rides in the world
+    private int noOfRides;
+    // Rides that have been assigned
+    private BitSet assigned;
+    // Rides that have already been reported as assigned more than once
+    private BitSet reported;
+    // Error messages, one per line
+    private StringBuilder errors;
+
+    /**
+     * Creates a validator for rides with IDs from 0 to noOfRides - 1.
+     *
+     * @param noOfRides Number of rides in the world
+     */
+    public RideIDValidator(int noOfRides) {
+        this.noOfRides = noOfRides;
+        this.assigned = new BitSet(Math.max(0, noOfRides));
+        this.reported = new BitSet();
+        this.errors = new StringBuilder();
+    }
+
+    /**
+     * Check a ride ID found in the allocation, and record an error message if it is not valid.
+     * A ride that is assigned more than once is only reported once.
+     *
+     * @param lineNo The line of the allocation file the ride ID is on
+     * @param rid The ride ID
+     * @return true if the ride ID is in range and the ride was not assigned before, false otherwise
+     */
+    public boolean check(int lineNo, int rid) {
+        if (rid < 0 || rid >= noOfRides) {
+            addError("Line " + lineNo + ": Invalid Ride ID " + rid + ", expected from 0 to " + (noOfRides - 1));
+            return false;
+        }
+        if (assigned.get(rid)) {
+            if (!reported.get(rid)) {
+                reported.set(rid);
+                addError("Ride " + rid + " was assigned more than once");
+            }
+            return false;
+        }
+        assigned.set(rid);
+        return true;
+    }
+
+    /**
+     * Return every error message found so far, one per line.
+     *
+     * @return The error messages, or null if every ride ID was valid
+     */
+    public String getErrors() {
+        return errors.length() == 0 ? null : errors.toString();
+    }
+
+    private void addError(String message) {
+        if (errors.length() > 0) {
+            errors.append('\n');
+        }
+        errors.append(message);
+    }
+}
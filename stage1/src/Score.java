@@ -87,4 +87,28 @@ public class Score {
         this.late++;
     }
 
+    /**
+     * Add every field of another score to this score, used to merge scores calculated separately
+     *
+     * @param other The score to be added
+     */
+    public void add(Score other) {
+        this.distanceScore += other.distanceScore;
+        this.bonusScore += other.bonusScore;
+        this.taken += other.taken;
+        this.unassigned += other.unassigned;
+        this.late += other.late;
+        this.bonus += other.bonus;
+        this.waitTime += other.waitTime;
+    }
+
+    // Getters for the fields that are reported
+    public int getBonus() {
+        return bonus;
+    }
+
+    public int getLate() {
+        return late;
+    }
+
 }
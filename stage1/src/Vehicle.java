@@ -11,8 +11,8 @@ public class Vehicle{
     private ArrayList<Ride> rides;
     // The current step of the ride
     private int currentStep;
-    // Where the vehicle is.
-    private Location location;
+    // Where the vehicle is, packed by Location.
+    private long location;
 
     /**
      * Constructor of class Vehicle
@@ -23,7 +23,7 @@ public class Vehicle{
         this.id = id;
         this.rides = new ArrayList<>();
         this.currentStep = 0;
-        this.location = new Location(0,0);
+        this.location = Location.pack(0, 0);
     }
 
     /**
@@ -33,8 +33,7 @@ public class Vehicle{
      * @return the distance need to go to the starting point
      */
     public int distanceToRideStart(Ride ride) {
-        Location pickup = ride.getPickupLocation();
-        return location.distanceTo(pickup);
+        return Location.manhattan(location, ride.getPackedPickup());
     }
 
     /**
@@ -101,8 +100,7 @@ public class Vehicle{
         this.currentStep = stepDeparture + ride.calculateDistance();
         // When the Vehicle arrives the destination, the current location
         // would be the same as the finishing point of the ride
-        Location destination = ride.getDestination();
-        setLocation(destination);
+        setLocation(ride.getPackedDestination());
     }
 
     /**
@@ -114,7 +112,7 @@ public class Vehicle{
     public String toString() {
         return "Vehicle {" +
                 "id=" + id +
-                ", Location:" + location.toString() +
+                ", Location:" + Location.of(location) +
                 '}';
     }
 
@@ -132,11 +130,20 @@ public class Vehicle{
     public void setLocation(Location location)
     {
         if(location != null) {
-            this.location = location;
+            this.location = location.getPacked();
         }
         else {
             throw new NullPointerException();
         }
     }
 
+    /**
+     * Set the current location.
+     * @param location Where it is, packed by Location.
+     */
+    public void setLocation(long location)
+    {
+        this.location = location;
+    }
+
 }
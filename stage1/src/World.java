@@ -1,4 +1,9 @@
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.NoSuchFileException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Run the simulation by asking a collective of actors to act.
@@ -54,6 +59,72 @@ public class World {
         readOutputFile();
     }
 
+    /**
+     * Creating all vehicles and rides according to the input file only.
+     * The allocation file is left to be read by validateAndScore.
+     */
+    public void initialiseWorld() {
+        readWorldAndRidesFile();
+    }
+
+    /**
+     * Validate and score the allocation file in a single pass, reading it one vehicle line at a time.
+     * Only the current line is held in memory, and each ride is scored as soon as it has been validated.
+     * The checks and their messages are the same as checkVehicleNo, checkNoOfRides and checkRideID,
+     * and if several checks fail, the messages of the check that would have run first are returned.
+     *
+     * @param score The score to add the points of the allocation to
+     * @return The error message, or null if the allocation is valid
+     */
+    public String validateAndScore(Score score) {
+        return validateAndScore(allocationFileName, score);
+    }
+
+    /**
+     * Validate and score another allocation file against this world, the same way as validateAndScore(Score).
+     * The world is only read, so several allocation files can be scored at the same time.
+     *
+     * @param allocationFileName The name of the allocation file
+     * @param score The score to add the points of the allocation to
+     * @return The error message, or null if the allocation is valid
+     */
+    public String validateAndScore(String allocationFileName, Score score) {
+        String rideCountError = null;
+        RideIDValidator validator = new RideIDValidator(noOfRides);
+        int lineNo = 0;
+        try (MappedFileReader reader = new MappedFileReader(allocationFileName)) {
+            for (int count; (count = reader.nextLine()) >= 0; ) {
+                // Keep track of the line number
+                lineNo++;
+                int[] ridesLine = reader.getLine();
+                // Lines after the last vehicle are only counted
+                if (lineNo > noOfVehicles || rideCountError != null) {
+                    continue;
+                }
+                if (ridesLine[0] != count - 1) {
+                    rideCountError = "Line " + lineNo + ": Declared " + ridesLine[0] + " rides but found " + (count - 1) + " rides";
+                    continue;
+                }
+                Vehicle vehicle = new Vehicle(lineNo - 1);
+                // Skip the first integer, the number of rides
+                for (int k = 1; k < count; k++) {
+                    int rid = ridesLine[k];
+                    if (validator.check(lineNo, rid)) {
+                        evaluateRide(vehicle, rides.get(rid), score, this.bonus);
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return "Unable to open file.";
+        } catch (IOException e) {
+            return "A problem was encountered reading the file";
+        }
+        if (noOfVehicles != lineNo) {
+            return "Found " + lineNo + " cars in output file, expected " + noOfVehicles;
+        }
+        return rideCountError != null ? rideCountError : validator.getErrors();
+    }
+
     /**
      * Calculate the total score of the allocation
      *
@@ -75,6 +146,55 @@ public class World {
         return score.total();
     }
 
+    /**
+     * Calculate the total score of the allocation, splitting the fleet across the common ForkJoinPool.
+     * Each task scores its own vehicles into its own Score, and the scores are added up at the end,
+     * so the result is the same as calculateScore.
+     *
+     * @return the total score of the allocation
+     */
+    public int calculateScoreParallel() {
+        return ForkJoinPool.commonPool().invoke(new ScoreTask(0, Math.min(fleet.size(), allocationArray.size()))).total();
+    }
+
+    /**
+     * Score the vehicles from start (inclusive) to end (exclusive), splitting the range in two
+     * until it is small enough to be scored by one task.
+     */
+    private class ScoreTask extends RecursiveTask<Score> {
+        // Largest number of vehicles scored by one task
+        private static final int VEHICLES_PER_TASK = 32;
+
+        private final int start;
+        private final int end;
+
+        ScoreTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Score compute() {
+            if (end - start <= VEHICLES_PER_TASK) {
+                Score score = new Score();
+                for (int i = start; i < end; i++) {
+                    // A new vehicle, so that no vehicle is shared between tasks
+                    Vehicle vehicle = new Vehicle(i);
+                    for (int rid : allocationArray.get(i)) {
+                        evaluateRide(vehicle, rides.get(rid), score, bonus);
+                    }
+                }
+                return score;
+            }
+            int middle = (start + end) >>> 1;
+            ScoreTask left = new ScoreTask(start, middle);
+            left.fork();
+            Score score = new ScoreTask(middle, end).compute();
+            score.add(left.join());
+            return score;
+        }
+    }
+
     /**
      * Evaluate a ride that is assigned to the vehicle
      *
@@ -98,8 +218,7 @@ public class World {
             vehicle.assignRide(ride);
         } else { // The ride is late
             vehicle.setCurrentStep(vehicle.arrival(ride));
-            Location destination = ride.getDestination();
-            vehicle.setLocation(destination);
+            vehicle.setLocation(ride.getPackedDestination());
             score.incrementLate();
         }
     }
@@ -149,24 +268,18 @@ public class World {
     /**
      * Check if rides in the output file match with input file, are valid, and only assigned once
      * Check if a ride is assigned to two or more different vehicles, or to one vehicle more than once
+     * Every invalid ride ID and every ride assigned more than once is reported, one message per line
      */
     public String checkRideID() {
         int index = 0;
-        ArrayList<Integer> assignedRides = new ArrayList<>();
+        RideIDValidator validator = new RideIDValidator(noOfRides);
         for (int[] allocatedRides: allocationArray) {
             index++;
             for (int rid: allocatedRides) {
-                if (rid < 0 || rid >= noOfRides) {
-                    return "Line " + index + ": Invalid Ride ID "+ rid + ", expected from 0 to " + (noOfRides - 1);
-                }
-                else if (assignedRides.contains(rid)) {
-                    return "Ride " + rid + " was assigned more than once";
-                } else {
-                    assignedRides.add(rid);
-                }
+                validator.check(index, rid);
             }
         }
-        return null;
+        return validator.getErrors();
     }
 
     // Getters and setters for each field
@@ -188,40 +301,77 @@ public class World {
 
     // Private methods
     private void readWorldAndRidesFile() {
-        ArrayList<int[]> file = inputReader.parseInput(worldAndRidesFileName);
-        // For each line in the file
-        for (int i = 0; i < file.size(); i++) {
-            int[] line = file.get(i);
-            // If it is the first line
-            if (i == 0) {
-                rows = line[0];
-                cols = line[1];
-                noOfVehicles = line[2];
-                noOfRides = line[3];
-                bonus = line[4];
-                noOfSteps = line[5];
-
-                fleet = new ArrayList<>(noOfVehicles);
-                // Create new vehicles in the fleet
-                for (int j = 0; j < noOfVehicles; j++) {
-                    // Create new Vehicle object
-                    Vehicle vehicle = new Vehicle(j);
-                    // Test if values in the txt file has transferred to the objects' fields
-                    // System.out.println(vehicle.toString());
-                    fleet.add(vehicle);
-                }
-            } else {
-                int x1 = line[0];
-                int y1 = line[1];
-                int x2 = line[2];
-                int y2 = line[3];
-                int earliestStart = line[4];
-                int latestFinish = line[5];
-                Ride ride = new Ride(i - 1, new Location(x1, y1), new Location(x2, y2), earliestStart, latestFinish);
-                // Test if values in the txt file has transferred to the objects' fields
-                // System.out.println(ride.toString());
-                rides.add(ride);
-            }
+        if (BinaryWorld.isBinary(worldAndRidesFileName)) {
+            readBinaryWorld();
+            return;
+        }
+        int[] file = inputReader.parseWorld(worldAndRidesFileName);
+        if (file.length < InputReader.HEADER_LENGTH) {
+            return;
+        }
+        // The first line
+        rows = file[0];
+        cols = file[1];
+        noOfVehicles = file[2];
+        noOfRides = file[3];
+        bonus = file[4];
+        noOfSteps = file[5];
+
+        fleet = new ArrayList<>(noOfVehicles);
+        // Create new vehicles in the fleet
+        for (int j = 0; j < noOfVehicles; j++) {
+            // Create new Vehicle object
+            Vehicle vehicle = new Vehicle(j);
+            fleet.add(vehicle);
+        }
+        rides = new ArrayList<>(noOfRides);
+        // For each ride line in the file
+        for (int i = InputReader.HEADER_LENGTH; i < file.length; i += InputReader.RIDE_LENGTH) {
+            int x1 = file[i];
+            int y1 = file[i + 1];
+            int x2 = file[i + 2];
+            int y2 = file[i + 3];
+            int earliestStart = file[i + 4];
+            int latestFinish = file[i + 5];
+            int rid = (i - InputReader.HEADER_LENGTH) / InputReader.RIDE_LENGTH;
+            Ride ride = new Ride(rid, Location.pack(x1, y1), Location.pack(x2, y2), earliestStart, latestFinish);
+            rides.add(ride);
+        }
+    }
+
+    /**
+     * Create all vehicles and rides from a binary world, reading the rides from its columns without parsing.
+     */
+    private void readBinaryWorld() {
+        BinaryWorld world;
+        try {
+            world = BinaryWorld.open(worldAndRidesFileName);
+        } catch (IOException e) {
+            System.err.print("A problem was encountered reading the file: " + e.getMessage());
+            return;
+        }
+        rows = world.getHeader(BinaryWorld.ROWS);
+        cols = world.getHeader(BinaryWorld.COLS);
+        noOfVehicles = world.getHeader(BinaryWorld.VEHICLES);
+        noOfRides = world.getHeader(BinaryWorld.RIDES);
+        bonus = world.getHeader(BinaryWorld.BONUS);
+        noOfSteps = world.getHeader(BinaryWorld.STEPS);
+
+        fleet = new ArrayList<>(noOfVehicles);
+        for (int j = 0; j < noOfVehicles; j++) {
+            fleet.add(new Vehicle(j));
+        }
+        IntBuffer pickupX = world.getColumn(BinaryWorld.PICKUP_X);
+        IntBuffer pickupY = world.getColumn(BinaryWorld.PICKUP_Y);
+        IntBuffer destinationX = world.getColumn(BinaryWorld.DESTINATION_X);
+        IntBuffer destinationY = world.getColumn(BinaryWorld.DESTINATION_Y);
+        IntBuffer earliestStart = world.getColumn(BinaryWorld.EARLIEST_START);
+        IntBuffer latestFinish = world.getColumn(BinaryWorld.LATEST_FINISH);
+        rides = new ArrayList<>(noOfRides);
+        for (int rid = 0; rid < noOfRides; rid++) {
+            rides.add(new Ride(rid, Location.pack(pickupX.get(rid), pickupY.get(rid)),
+                    Location.pack(destinationX.get(rid), destinationY.get(rid)),
+                    earliestStart.get(rid), latestFinish.get(rid)));
         }
     }
 
@@ -1,14 +1,28 @@
 import org.junit.Test;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
 public class WorldTest {
 
+    // The example input of the problem statement, with 2 vehicles and 3 rides
+    private static final String EXAMPLE = "3 4 2 3 2 10\n0 0 1 3 2 9\n1 2 1 0 0 9\n2 0 2 2 0 9\n";
+
+    // Holds the input and output files of a test, deleted after it
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private World world;
     private List<int[]> mockAllocationArray;
     private String message;
@@ -136,4 +150,128 @@ public class WorldTest {
         message = world.checkRideID();
         assertEquals("Ride 2 was assigned more than once", message);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEveryInvalidRideIDReported() {
+        int[] vehicle2 = new int[]{2, 3, 2, -1, 2};
+        mockAllocationArray.add(vehicle2);
+        world.setAllocationArray(mockAllocationArray);
+        world.setNoOfRides(3);
+        message = world.checkRideID();
+        assertEquals("Ride 2 was assigned more than once\n"
+                + "Line 2: Invalid Ride ID 3, expected from 0 to 2\n"
+                + "Line 2: Invalid Ride ID -1, expected from 0 to 2", message);
+    }
+
+    // Tests for validateAndScore()
+    @Test
+    public void testValidateAndScore() throws Exception {
+        Score score = new Score();
+        message = validateAndScore("2 0 1\n1 2\n", score);
+        assertEquals(null, message);
+        assertEquals(10, score.total());
+    }
+
+    @Test
+    public void testValidateAndScoreFoundLessRidesThanDeclared() throws Exception {
+        message = validateAndScore("2 0\n1 2\n", new Score());
+        assertEquals("Line 1: Declared 2 rides but found 1 rides", message);
+    }
+
+    @Test
+    public void testValidateAndScoreDuplicatedRideID() throws Exception {
+        message = validateAndScore("1 0\n3 0 3 0\n", new Score());
+        assertEquals("Ride 0 was assigned more than once\nLine 2: Invalid Ride ID 3, expected from 0 to 2", message);
+    }
+
+    @Test
+    public void testValidateAndScoreLessVehicleThanExpected() throws Exception {
+        message = validateAndScore("1 5\n", new Score());
+        assertEquals("Found 1 cars in output file, expected 2", message);
+    }
+
+    /**
+     * Validate and score an allocation against the example input, with 2 vehicles and 3 rides
+     */
+    private String validateAndScore(String allocation, Score score) throws Exception {
+        World world = createWorld(EXAMPLE.getBytes(), allocation);
+        world.initialiseWorld();
+        return world.validateAndScore(score);
+    }
+
+    // Tests for calculateScoreParallel()
+    /**
+     * Test that scoring 200 vehicles in parallel, which splits the fleet into tasks of at most 32 vehicles,
+     * gives the same score as scoring them one after the other
+     */
+    @Test
+    public void testParallelScoreSameAsSequential() throws Exception {
+        Random random = new Random(1);
+        int vehicles = 200;
+        int noOfRides = 2000;
+        StringBuilder input = new StringBuilder("100 100 " + vehicles + " " + noOfRides + " 10 1000\n");
+        for (int rid = 0; rid < noOfRides; rid++) {
+            int earliestStart = random.nextInt(900);
+            input.append(random.nextInt(100)).append(' ').append(random.nextInt(100)).append(' ')
+                    .append(random.nextInt(100)).append(' ').append(random.nextInt(100)).append(' ')
+                    .append(earliestStart).append(' ').append(earliestStart + random.nextInt(300)).append('\n');
+        }
+        // The rides go to the vehicles in turn, each taken or not at random, so that some are on time, some late
+        // and some not taken
+        List<List<Integer>> routes = new ArrayList<>();
+        for (int vehicle = 0; vehicle < vehicles; vehicle++) {
+            routes.add(new ArrayList<>());
+        }
+        for (int rid = 0; rid < noOfRides; rid++) {
+            if (random.nextBoolean()) {
+                routes.get(rid % vehicles).add(rid);
+            }
+        }
+        StringBuilder allocation = new StringBuilder();
+        for (List<Integer> route : routes) {
+            allocation.append(route.size());
+            for (int rid : route) {
+                allocation.append(' ').append(rid);
+            }
+            allocation.append('\n');
+        }
+        World sequential = createWorld(input.toString().getBytes(), allocation.toString());
+        sequential.initialise();
+        sequential.checkNoOfRides();
+        World parallel = createWorld(input.toString().getBytes(), allocation.toString());
+        parallel.initialise();
+        parallel.checkNoOfRides();
+        int score = sequential.calculateScore();
+        assertTrue(score > 0);
+        assertEquals(score, parallel.calculateScoreParallel());
+    }
+
+    // Tests for binary worlds
+    @Test
+    public void testBinaryWorldScoresAsText() throws Exception {
+        // The example input, with the ride fields as columns
+        int[] ints = {BinaryWorld.MAGIC, BinaryWorld.VERSION, 3, 4, 2, 3, 2, 10,
+                0, 1, 2, 0, 2, 0, 1, 1, 2, 3, 0, 2, 2, 0, 0, 9, 9, 9};
+        ByteBuffer bytes = ByteBuffer.allocate(ints.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(ints);
+        World world = createWorld(bytes.array(), "1 0\n2 2 1\n");
+        world.initialiseWorld();
+        Score score = new Score();
+        assertNull(world.validateAndScore(score));
+        assertEquals(10, score.total());
+    }
+
+    /**
+     * Write an input file and an output file to the temporary folder, and create a world reading them
+     *
+     * @param input The contents of the input file
+     * @param allocation The contents of the output file
+     */
+    private World createWorld(byte[] input, String allocation) throws Exception {
+        Path inputFile = folder.newFile().toPath();
+        Path outputFile = folder.newFile().toPath();
+        Files.write(inputFile, input);
+        Files.write(outputFile, allocation.getBytes());
+        return new World(inputFile.toString(), outputFile.toString());
+    }
+}
@@ -0,0 +1,151 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A world in a binary file, that can be loaded without parsing any text.
+ * The file is a header of little-endian ints: the magic number, the version of the format, then rows, cols,
+ * vehicles, rides, bonus and steps as on the first line of the input file. After the header comes one column
+ * of little-endian ints per ride field, in the order of the fields on a ride line of the input file.
+ * The file is memory-mapped, and each column is a view of the mapped bytes.
+ */
+public class BinaryWorld
+{
+    // "HC18" in the first four bytes of the file
+    public static final int MAGIC = 0x38314348;
+    // Version of the format, changed whenever the layout changes
+    public static final int VERSION = 1;
+    // Number of ints before the first column: the magic number, the version, then the first line of the input file
+    public static final int HEADER_INTS = 2 + InputReader.HEADER_LENGTH;
+
+    // Position of each field in the header, after the magic number and the version
+    public static final int ROWS = 0;
+    public static final int COLS = 1;
+    public static final int VEHICLES = 2;
+    public static final int RIDES = 3;
+    public static final int BONUS = 4;
+    public static final int STEPS = 5;
+
+    // Position of each column, the same as the position of the field on a ride line of the input file
+    public static final int PICKUP_X = 0;
+    public static final int PICKUP_Y = 1;
+    public static final int DESTINATION_X = 2;
+    public static final int DESTINATION_Y = 3;
+    public static final int EARLIEST_START = 4;
+    public static final int LATEST_FINISH = 5;
+
+    // The first line of the input file
+    private int[] header;
+    // The mapped file, as ints
+    private IntBuffer ints;
+
+    private BinaryWorld(int[] header, IntBuffer ints) {
+        this.header = header;
+        this.ints = ints;
+    }
+
+    /**
+     * Check whether a file starts with the magic number of the binary format.
+     *
+     * @param fileName The name of the file
+     * @return True if the file is a binary world, false if it is not or cannot be read
+     */
+    public static boolean isBinary(String fileName) {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until the four bytes are in
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Map a binary world.
+     *
+     * @param fileName The name of the file
+     * @return The world, whose columns stay readable after the file is closed
+     * @throws IOException If the file cannot be mapped, or is not a binary world of this version
+     */
+    public static BinaryWorld open(String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_INTS * Integer.BYTES) {
+                throw new IOException(fileName + " is too short for a binary world");
+            }
+            IntBuffer ints = channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            if (ints.get(0) != MAGIC) {
+                throw new IOException(fileName + " is not a binary world");
+            }
+            if (ints.get(1) != VERSION) {
+                throw new IOException(fileName + " has version " + ints.get(1) + " instead of " + VERSION);
+            }
+            int[] header = new int[InputReader.HEADER_LENGTH];
+            ints.position(2);
+            ints.get(header);
+            long expected = ((long) HEADER_INTS + (long) InputReader.RIDE_LENGTH * header[RIDES]) * Integer.BYTES;
+            if (header[RIDES] < 0 || size != expected) {
+                throw new IOException(fileName + " has " + size + " bytes instead of " + expected);
+            }
+            return new BinaryWorld(header, ints);
+        }
+    }
+
+    /**
+     * Write a world as a binary file.
+     *
+     * @param world The world in the layout returned by InputReader.parseWorld
+     * @param path The file to be written
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(int[] world, Path path) throws IOException {
+        int noOfRides = (world.length - InputReader.HEADER_LENGTH) / InputReader.RIDE_LENGTH;
+        ByteBuffer bytes = ByteBuffer.allocate((HEADER_INTS + InputReader.RIDE_LENGTH * noOfRides) * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        IntBuffer ints = bytes.asIntBuffer();
+        ints.put(MAGIC).put(VERSION).put(world, 0, InputReader.HEADER_LENGTH);
+        // Fewer rides than declared are kept as they are read, so the header gives the number of rides in the file
+        ints.put(2 + RIDES, noOfRides);
+        // Turn the rows of the input file into columns
+        for (int field = 0; field < InputReader.RIDE_LENGTH; field++) {
+            for (int rid = 0; rid < noOfRides; rid++) {
+                ints.put(world[InputReader.HEADER_LENGTH + rid * InputReader.RIDE_LENGTH + field]);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * @param field The position of the field in the header: ROWS, COLS, VEHICLES, RIDES, BONUS or STEPS
+     * @return The value of the field
+     */
+    public int getHeader(int field) {
+        return header[field];
+    }
+
+    /**
+     * @param column The position of the column: PICKUP_X, PICKUP_Y, DESTINATION_X, DESTINATION_Y, EARLIEST_START
+     *               or LATEST_FINISH
+     * @return A view of the column, with one int per ride in the order of the ride IDs
+     */
+    public IntBuffer getColumn(int column) {
+        int noOfRides = header[RIDES];
+        IntBuffer view = ints.duplicate();
+        view.position(HEADER_INTS + column * noOfRides);
+        view.limit(HEADER_INTS + (column + 1) * noOfRides);
+        return view.slice();
+    }
+}
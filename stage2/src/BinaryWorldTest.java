@@ -0,0 +1,95 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+
+public class BinaryWorldTest {
+
+    private Path text;
+    private Path binary;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // The example of the problem statement
+        text = Files.createTempFile("world", ".in");
+        binary = Files.createTempFile("world", ".bin");
+        Files.write(text, "3 4 2 3 2 10\n0 0 1 3 2 9\n1 2 1 0 0 9\n2 0 2 2 0 9\n".getBytes());
+        BinaryWorld.write(new InputReader().parseWorld(text.toString()), binary);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(text);
+        Files.deleteIfExists(binary);
+    }
+
+    /**
+     * Test that the header and the columns are read back as they were in the text file
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        assertTrue(BinaryWorld.isBinary(binary.toString()));
+        assertFalse(BinaryWorld.isBinary(text.toString()));
+        BinaryWorld world = BinaryWorld.open(binary.toString());
+        assertEquals(4, world.getHeader(BinaryWorld.COLS));
+        assertEquals(3, world.getHeader(BinaryWorld.RIDES));
+        assertEquals(10, world.getHeader(BinaryWorld.STEPS));
+        assertEquals(3, world.getColumn(BinaryWorld.DESTINATION_Y).remaining());
+        assertEquals(2, world.getColumn(BinaryWorld.PICKUP_Y).get(1));
+        assertEquals(9, world.getColumn(BinaryWorld.LATEST_FINISH).get(2));
+    }
+
+    /**
+     * Test that a world loaded from the binary file is solved the same as from the text file
+     */
+    @Test
+    public void testSameSolution() {
+        World fromText = new World(text.toString());
+        fromText.initialise();
+        fromText.solve();
+        World fromBinary = new World(binary.toString());
+        fromBinary.initialise();
+        fromBinary.solve();
+        assertEquals(10, fromBinary.score());
+        assertEquals(fromText.score(), fromBinary.score());
+    }
+
+    /**
+     * Test that a file of another version, or cut short, is not loaded
+     */
+    @Test
+    public void testInvalid() throws IOException {
+        byte[] bytes = Files.readAllBytes(binary);
+        Files.write(binary, Arrays.copyOf(bytes, bytes.length - 4));
+        try {
+            BinaryWorld.open(binary.toString());
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("bytes"));
+        }
+        bytes[4] = 2;
+        Files.write(binary, bytes);
+        try {
+            BinaryWorld.open(binary.toString());
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("version 2"));
+        }
+    }
+}
@@ -0,0 +1,407 @@
+import java.util.Arrays;
+
+/**
+ * Find the routes of the fleet as disjoint chains of rides, so that the chains together score as many points as
+ * possible: each chain is the route of one vehicle, and each ride scores its distance plus the bonus if the vehicle
+ * gets there by its earliest start.
+ *
+ * Every ride is given a planned start, a step in its time window, and a ride may follow another in a chain only if a
+ * vehicle that starts the first ride at its planned start gets to the second by its planned start. Planned starts
+ * grow along every chain, so the rides form a directed acyclic graph, and a chain can always be driven on time:
+ * each ride starts at its planned start at the latest, and scores at least the points it was given.
+ * The arcs are the edges of the ride graph that keep to the planned starts, together with the links of the current
+ * routes, whose planned starts are the steps they start at now. The current routes are then one of the covers,
+ * so the best cover scores at least as much as them.
+ *
+ * The points of a ride depend on where the vehicle comes from, so they are carried by the arcs into the ride: an arc
+ * from the start of the simulation, or an arc from the ride before it. The chains are a maximum-weight path cover
+ * with at most one path per vehicle, found as a min-cost flow from the start through the rides: each vehicle is one
+ * unit of flow, each ride is split into an in and an out node joined by an arc of capacity 1, and the flow is found
+ * with successive shortest paths, Dijkstra's algorithm with node potentials as in MinCostMatching. The potentials
+ * start as the shortest distances in the acyclic graph, since the costs of the arcs are negative.
+ * Each round costs time in the number of arcs, so when there are too many vehicles times arcs the chains are
+ * peeled greedily instead, taking the chain with the most points among the rides left, one vehicle at a time.
+ */
+public class ChainCover
+{
+    // The most vehicles times arcs for which the chains are found with a min-cost flow instead of peeled
+    public static final long MAX_FLOW_WORK = 200_000_000L;
+
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+    // The nodes of the flow that are not rides
+    private static final int SOURCE = 0;
+    private static final int SINK = 1;
+
+    // All the rides
+    private RideTable rides;
+    // Which rides can follow each other
+    private RideGraph graph;
+    // Per-ride bonus for starting the ride on time
+    private int bonus;
+    // Number of steps in the simulation
+    private int noOfSteps;
+
+    // The planned start of each ride
+    private int[] plannedStarts;
+    // The ride after each ride in the current routes, or -1
+    private int[] routeNext;
+    // The rides in the order of planned start, then ride ID, and the position of each ride in that order
+    private int[] order;
+    private int[] rank;
+
+    // The arcs of the flow, each followed by its reverse arc, and the lists of arcs out of each node
+    private int[] firstArc;
+    private int[] nextArc;
+    private int[] arcTarget;
+    private int[] arcCapacity;
+    private long[] arcCost;
+    private int noOfArcs;
+
+    /**
+     * Constructor of ChainCover
+     *
+     * @param rides All the rides
+     * @param graph Which rides can follow each other
+     * @param bonus Per-ride bonus for starting the ride on time
+     * @param noOfSteps Number of steps in the simulation
+     */
+    public ChainCover(RideTable rides, RideGraph graph, int bonus, int noOfSteps) {
+        this.rides = rides;
+        this.graph = graph;
+        this.bonus = bonus;
+        this.noOfSteps = noOfSteps;
+        routeNext = new int[rides.size()];
+        order = new int[rides.size()];
+        rank = new int[rides.size()];
+    }
+
+    /**
+     * Find the chains, with a min-cost flow unless there are more than MAX_FLOW_WORK vehicles times arcs.
+     *
+     * @param routes The current route of every vehicle, whose rides start at their planned starts
+     * @param plannedStarts The planned start of every ride, in its time window
+     * @return One chain per vehicle, as ride IDs in the order they are driven, some of them maybe empty
+     */
+    public int[][] cover(int[][] routes, int[] plannedStarts) {
+        long work = (long) routes.length * (4L * rides.size() + graph.getNoOfEdges());
+        return work <= MAX_FLOW_WORK ? coverByFlow(routes, plannedStarts) : coverByPeeling(routes, plannedStarts);
+    }
+
+    /**
+     * Find the chains that score the most points together, with a min-cost flow.
+     *
+     * @param routes The current route of every vehicle, whose rides start at their planned starts
+     * @param plannedStarts The planned start of every ride, in its time window
+     * @return One chain per vehicle, as ride IDs in the order they are driven, some of them maybe empty
+     */
+    public int[][] coverByFlow(int[][] routes, int[] plannedStarts) {
+        plan(routes, plannedStarts);
+        buildNetwork();
+        int noOfNodes = firstArc.length;
+        long[] potential = initialPotentials();
+        long[] distance = new long[noOfNodes];
+        int[] parentArc = new int[noOfNodes];
+        boolean[] done = new boolean[noOfNodes];
+        NodeHeap heap = new NodeHeap();
+        for (int path = 0; path < routes.length; path++) {
+            long sinkDistance = shortestPath(potential, distance, parentArc, done, heap);
+            // Stop once another vehicle would not add any points
+            if (sinkDistance >= INFINITY || sinkDistance + potential[SINK] - potential[SOURCE] >= 0) {
+                break;
+            }
+            for (int node = 0; node < noOfNodes; node++) {
+                if (potential[node] < INFINITY) {
+                    potential[node] += Math.min(distance[node], sinkDistance);
+                }
+            }
+            for (int node = SINK; node != SOURCE; node = arcTarget[parentArc[node] ^ 1]) {
+                arcCapacity[parentArc[node]]--;
+                arcCapacity[parentArc[node] ^ 1]++;
+            }
+        }
+
+        // Follow the flow from the source, one chain per unit
+        int[][] chains = new int[routes.length][0];
+        int[] chain = new int[rides.size()];
+        int vehicle = 0;
+        for (int arc = firstArc[SOURCE]; arc >= 0; arc = nextArc[arc]) {
+            if ((arc & 1) != 0 || arcCapacity[arc] > 0) {
+                continue;
+            }
+            int length = 0;
+            for (int node = arcTarget[arc]; node != SINK; node = flowTarget(node + 1)) {
+                chain[length++] = (node - 2) >> 1;
+            }
+            chains[vehicle++] = Arrays.copyOf(chain, length);
+        }
+        // The network is not needed any more
+        firstArc = null;
+        nextArc = null;
+        arcTarget = null;
+        arcCapacity = null;
+        arcCost = null;
+        return chains;
+    }
+
+    /**
+     * Find the chains one at a time, each the chain with the most points among the rides not in a chain yet.
+     *
+     * @param routes The current route of every vehicle, whose rides start at their planned starts
+     * @param plannedStarts The planned start of every ride, in its time window
+     * @return One chain per vehicle, as ride IDs in the order they are driven, some of them maybe empty
+     */
+    public int[][] coverByPeeling(int[][] routes, int[] plannedStarts) {
+        plan(routes, plannedStarts);
+        int noOfRides = rides.size();
+        // The most points of a chain that ends with each ride, or -1 if no chain can reach it
+        long[] best = new long[noOfRides];
+        int[] parent = new int[noOfRides];
+        boolean[] used = new boolean[noOfRides];
+        int[] chain = new int[noOfRides];
+        int[][] chains = new int[routes.length][0];
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            for (int rid = 0; rid < noOfRides; rid++) {
+                best[rid] = used[rid] ? -1 : startPoints(rid);
+                parent[rid] = -1;
+            }
+            int last = -1;
+            for (int rid : order) {
+                if (best[rid] < 0) {
+                    continue;
+                }
+                if (last < 0 || best[rid] > best[last]) {
+                    last = rid;
+                }
+                for (int edge = graph.firstEdge(rid); edge <= graph.firstEdge(rid + 1); edge++) {
+                    // The position after the last edge stands for the link of the current routes
+                    int next = edge < graph.firstEdge(rid + 1) ? graph.getSuccessor(edge) : routeNext[rid];
+                    if (next < 0 || used[next]) {
+                        continue;
+                    }
+                    int points = arcPoints(rid, next);
+                    if (points >= 0 && best[rid] + points > best[next]) {
+                        best[next] = best[rid] + points;
+                        parent[next] = rid;
+                    }
+                }
+            }
+            if (last < 0 || best[last] == 0) {
+                break;
+            }
+            int length = 0;
+            for (int rid = last; rid >= 0; rid = parent[rid]) {
+                chain[length++] = rid;
+                used[rid] = true;
+            }
+            chains[vehicle] = new int[length];
+            for (int i = 0; i < length; i++) {
+                chains[vehicle][i] = chain[length - 1 - i];
+            }
+        }
+        return chains;
+    }
+
+    // Private methods
+    /**
+     * Keep the planned starts and the links of the current routes, and sort the rides by planned start.
+     */
+    private void plan(int[][] routes, int[] plannedStarts) {
+        this.plannedStarts = plannedStarts;
+        Arrays.fill(routeNext, -1);
+        for (int[] route : routes) {
+            for (int i = 0; i + 1 < route.length; i++) {
+                routeNext[route[i]] = route[i + 1];
+            }
+        }
+        long[] keys = new long[rides.size()];
+        for (int rid = 0; rid < keys.length; rid++) {
+            keys[rid] = ((long) plannedStarts[rid] << 32) | rid;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+            rank[order[i]] = i;
+        }
+    }
+
+    /**
+     * The points a ride scores as the first ride of a vehicle.
+     *
+     * @param rid The ID of the ride
+     * @return The distance of the ride plus the bonus if it starts on time, or -1 if the vehicle cannot get there
+     *         by its planned start
+     */
+    private int startPoints(int rid) {
+        return points(rid, rides.getPickupX(rid) + rides.getPickupY(rid));
+    }
+
+    /**
+     * The points a ride scores after another ride, which was started at its planned start.
+     *
+     * @param rid The ID of the ride before
+     * @param next The ID of the ride after
+     * @return The distance of the ride after plus the bonus if it starts on time, or -1 if the vehicle cannot get
+     *         there by its planned start
+     */
+    private int arcPoints(int rid, int next) {
+        if (rank[next] <= rank[rid]) {
+            return -1;
+        }
+        int emptyTravel = Math.abs(rides.getPickupX(next) - rides.getDestinationX(rid))
+                + Math.abs(rides.getPickupY(next) - rides.getDestinationY(rid));
+        return points(next, plannedStarts[rid] + rides.getDistance(rid) + emptyTravel);
+    }
+
+    private int points(int rid, int arrival) {
+        int earliestStart = rides.getEarliestStart(rid);
+        int finish = Math.max(arrival, earliestStart) + rides.getDistance(rid);
+        if (arrival > plannedStarts[rid] || finish > Math.min(rides.getLatestFinish(rid), noOfSteps)) {
+            return -1;
+        }
+        return rides.getDistance(rid) + (arrival <= earliestStart ? bonus : 0);
+    }
+
+    /**
+     * Build the flow network: an arc from the source to every ride that can be the first ride of a vehicle, an arc
+     * of capacity 1 from the in node to the out node of every ride, an arc to every ride that can follow it, and an
+     * arc from every ride to the sink. The cost of an arc into a ride is minus its points.
+     */
+    private void buildNetwork() {
+        int noOfRides = rides.size();
+        int capacity = 2 * (4 * noOfRides + graph.getNoOfEdges());
+        firstArc = new int[2 + 2 * noOfRides];
+        Arrays.fill(firstArc, -1);
+        nextArc = new int[capacity];
+        arcTarget = new int[capacity];
+        arcCapacity = new int[capacity];
+        arcCost = new long[capacity];
+        noOfArcs = 0;
+        // Added backwards, so that the arcs out of each node are listed in order
+        for (int i = noOfRides - 1; i >= 0; i--) {
+            int rid = order[i];
+            int points = startPoints(rid);
+            if (points >= 0) {
+                addArc(SOURCE, inNode(rid), -points);
+            }
+        }
+        for (int rid = noOfRides - 1; rid >= 0; rid--) {
+            addArc(outNode(rid), SINK, 0);
+            if (routeNext[rid] >= 0) {
+                addSuccessor(rid, routeNext[rid]);
+            }
+            for (int edge = graph.firstEdge(rid + 1) - 1; edge >= graph.firstEdge(rid); edge--) {
+                if (graph.getSuccessor(edge) != routeNext[rid]) {
+                    addSuccessor(rid, graph.getSuccessor(edge));
+                }
+            }
+            addArc(inNode(rid), outNode(rid), 0);
+        }
+    }
+
+    private void addSuccessor(int rid, int next) {
+        int points = arcPoints(rid, next);
+        if (points >= 0) {
+            addArc(outNode(rid), inNode(next), -points);
+        }
+    }
+
+    private void addArc(int from, int to, long cost) {
+        arcTarget[noOfArcs] = to;
+        arcCapacity[noOfArcs] = 1;
+        arcCost[noOfArcs] = cost;
+        nextArc[noOfArcs] = firstArc[from];
+        firstArc[from] = noOfArcs++;
+        arcTarget[noOfArcs] = from;
+        arcCapacity[noOfArcs] = 0;
+        arcCost[noOfArcs] = -cost;
+        nextArc[noOfArcs] = firstArc[to];
+        firstArc[to] = noOfArcs++;
+    }
+
+    /**
+     * The shortest distances from the source before any flow, found in the order of planned start since every arc
+     * between rides goes to a ride planned to start later.
+     *
+     * @return The distance of every node, or INFINITY if the node cannot be reached
+     */
+    private long[] initialPotentials() {
+        long[] potential = new long[firstArc.length];
+        Arrays.fill(potential, INFINITY);
+        potential[SOURCE] = 0;
+        relaxInOrder(SOURCE, potential);
+        for (int rid : order) {
+            relaxInOrder(inNode(rid), potential);
+            relaxInOrder(outNode(rid), potential);
+        }
+        return potential;
+    }
+
+    private void relaxInOrder(int node, long[] potential) {
+        if (potential[node] >= INFINITY) {
+            return;
+        }
+        for (int arc = firstArc[node]; arc >= 0; arc = nextArc[arc]) {
+            if (arcCapacity[arc] > 0 && potential[node] + arcCost[arc] < potential[arcTarget[arc]]) {
+                potential[arcTarget[arc]] = potential[node] + arcCost[arc];
+            }
+        }
+    }
+
+    /**
+     * Run Dijkstra's algorithm from the source with the reduced costs, until the sink is reached.
+     *
+     * @return The reduced distance of the sink, or INFINITY if it cannot be reached
+     */
+    private long shortestPath(long[] potential, long[] distance, int[] parentArc, boolean[] done, NodeHeap heap) {
+        Arrays.fill(distance, INFINITY);
+        Arrays.fill(done, false);
+        heap.clear();
+        distance[SOURCE] = 0;
+        heap.add(0, SOURCE);
+        while (!heap.isEmpty()) {
+            long nodeDistance = heap.peekKey();
+            int node = heap.poll();
+            if (done[node] || nodeDistance > distance[node]) {
+                continue;
+            }
+            done[node] = true;
+            if (node == SINK) {
+                return nodeDistance;
+            }
+            for (int arc = firstArc[node]; arc >= 0; arc = nextArc[arc]) {
+                int target = arcTarget[arc];
+                if (arcCapacity[arc] == 0 || done[target] || potential[target] >= INFINITY) {
+                    continue;
+                }
+                long reduced = arcCost[arc] + potential[node] - potential[target];
+                if (nodeDistance + reduced < distance[target]) {
+                    distance[target] = nodeDistance + reduced;
+                    parentArc[target] = arc;
+                    heap.add(distance[target], target);
+                }
+            }
+        }
+        return INFINITY;
+    }
+
+    /**
+     * @param node The out node of a ride with flow through it
+     * @return The node the flow goes to next, the in node of the next ride or the sink
+     */
+    private int flowTarget(int node) {
+        for (int arc = firstArc[node]; arc >= 0; arc = nextArc[arc]) {
+            if ((arc & 1) == 0 && arcCapacity[arc] == 0) {
+                return arcTarget[arc];
+            }
+        }
+        return SINK;
+    }
+
+    private static int inNode(int rid) {
+        return 2 + 2 * rid;
+    }
+
+    private static int outNode(int rid) {
+        return 3 + 2 * rid;
+    }
+}
@@ -0,0 +1,120 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+
+public class ChainCoverTest {
+
+    private static final int VEHICLES = 5;
+    private static final int BONUS = 10;
+    private static final int STEPS = 1000;
+
+    private RideTable rides;
+    private ChainCover cover;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // Random rides on a 100 x 100 grid over 1000 steps
+        Random random = new Random(1);
+        rides = new RideTable(300);
+        for (int rid = 0; rid < 300; rid++) {
+            int earliestStart = random.nextInt(900);
+            rides.add(random.nextInt(100), random.nextInt(100), random.nextInt(100), random.nextInt(100),
+                    earliestStart, earliestStart + 200 + random.nextInt(100));
+        }
+        cover = new ChainCover(rides, new RideGraph(rides, 100, 100, 16, 50, 100), BONUS, STEPS);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that every ride of the chains found by the flow is on time, and no ride is in two chains
+     */
+    @Test
+    public void testFlowChainsAreOnTime() {
+        int[][] chains = cover.coverByFlow(new int[VEHICLES][0], earliestStarts());
+        assertEquals(VEHICLES, chains.length);
+        RouteScorer scorer = score(chains);
+        boolean[] seen = new boolean[rides.size()];
+        for (int vehicle = 0; vehicle < VEHICLES; vehicle++) {
+            assertTrue(chains[vehicle].length > 0);
+            for (int i = 0; i < chains[vehicle].length; i++) {
+                assertFalse(seen[chains[vehicle][i]]);
+                seen[chains[vehicle][i]] = true;
+                // Planned at their earliest starts, the rides all get the bonus
+                int rid = chains[vehicle][i];
+                assertEquals(rides.getDistance(rid) + BONUS, scorer.pointsAt(vehicle, i));
+            }
+        }
+    }
+
+    /**
+     * Test that the flow scores at least as much as peeling the chains one at a time
+     */
+    @Test
+    public void testFlowAtLeastPeeling() {
+        long flow = score(cover.coverByFlow(new int[VEHICLES][0], earliestStarts())).getTotalScore();
+        long peeled = score(cover.coverByPeeling(new int[VEHICLES][0], earliestStarts())).getTotalScore();
+        assertTrue(peeled > 0);
+        assertTrue(flow >= peeled);
+    }
+
+    /**
+     * Test that the flow scores at least as much as the current routes, which start at their planned starts
+     */
+    @Test
+    public void testFlowAtLeastCurrentRoutes() {
+        // Routes that take every third ride that fits, in order of earliest start
+        RouteScorer current = new RouteScorer(rides, BONUS, STEPS, VEHICLES);
+        int[] plannedStarts = earliestStarts();
+        int vehicle = 0;
+        for (int rid = 0; rid < rides.size(); rid += 3) {
+            int length = current.getRouteLength(vehicle);
+            if (current.insertDelta(vehicle, length, rid) > 0) {
+                current.insert(vehicle, length, rid);
+                plannedStarts[rid] = current.getFinishStep(vehicle, length) - rides.getDistance(rid);
+                vehicle = (vehicle + 1) % VEHICLES;
+            }
+        }
+        int[][] routes = new int[VEHICLES][];
+        for (vehicle = 0; vehicle < VEHICLES; vehicle++) {
+            routes[vehicle] = new int[current.getRouteLength(vehicle)];
+            for (int i = 0; i < routes[vehicle].length; i++) {
+                routes[vehicle][i] = current.getRide(vehicle, i);
+            }
+        }
+        assertTrue(current.getTotalScore() > 0);
+        assertTrue(score(cover.coverByFlow(routes, plannedStarts)).getTotalScore() >= current.getTotalScore());
+    }
+
+    private int[] earliestStarts() {
+        int[] starts = new int[rides.size()];
+        for (int rid = 0; rid < starts.length; rid++) {
+            starts[rid] = rides.getEarliestStart(rid);
+        }
+        return starts;
+    }
+
+    private RouteScorer score(int[][] chains) {
+        RouteScorer scorer = new RouteScorer(rides, BONUS, STEPS, chains.length);
+        for (int vehicle = 0; vehicle < chains.length; vehicle++) {
+            scorer.setRoute(vehicle, chains[vehicle], chains[vehicle].length);
+        }
+        return scorer;
+    }
+}
@@ -0,0 +1,98 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+/**
+ * A file that holds the best allocation found so far, in the same format as the solution printed by World,
+ * never compressed so that it can be resumed from.
+ * The allocation is written to a temporary file in the same directory, which is synced to disk and then moved
+ * over the checkpoint, so the checkpoint always holds a whole allocation even if the solver is killed while saving.
+ * The temporary file is given the permissions of the checkpoint it replaces, or rw-r--r-- for a new checkpoint,
+ * since a temporary file is only readable by its owner and the move would keep that.
+ */
+public class Checkpoint
+{
+    // Minimum number of nanoseconds between two saves, so that a fast search does not spend its time writing
+    public static final long SAVE_INTERVAL = 1_000_000_000L;
+    // Permissions of a new checkpoint on a file system with POSIX permissions
+    public static final Set<PosixFilePermission> PERMISSIONS = PosixFilePermissions.fromString("rw-r--r--");
+
+    // The file the allocation is saved to
+    private Path path;
+    // Number of times the allocation was saved
+    private int noOfSaves;
+    // The value of System.nanoTime at the last save
+    private long lastSave;
+
+    /**
+     * Constructor of Checkpoint
+     *
+     * @param fileName The name of the file the allocation is saved to
+     */
+    public Checkpoint(String fileName) {
+        path = Paths.get(fileName).toAbsolutePath();
+    }
+
+    /**
+     * @return Whether the allocation was never saved, or was last saved at least SAVE_INTERVAL ago
+     */
+    public boolean isDue() {
+        return noOfSaves == 0 || System.nanoTime() - lastSave >= SAVE_INTERVAL;
+    }
+
+    /**
+     * Replace the checkpoint with the current allocation of a world.
+     *
+     * @param world The world whose allocation is saved
+     * @throws IOException If the allocation cannot be written or moved over the checkpoint
+     */
+    public void save(World world) throws IOException {
+        Path temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            setPermissions(temporary);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                world.writeSolution(new SolutionWriter(channel));
+                channel.force(true);
+            }
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            noOfSaves++;
+            lastSave = System.nanoTime();
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Give the temporary file the permissions of the checkpoint, or the default ones if there is no checkpoint yet.
+     * Nothing is done on a file system without POSIX permissions.
+     */
+    private void setPermissions(Path temporary) throws IOException {
+        if (Files.getFileAttributeView(temporary, PosixFileAttributeView.class) == null) {
+            return;
+        }
+        Set<PosixFilePermission> permissions = Files.exists(path) ? Files.getPosixFilePermissions(path) : PERMISSIONS;
+        Files.setPosixFilePermissions(temporary, permissions);
+    }
+
+    // Getters
+    public Path getPath() {
+        return path;
+    }
+
+    public int getNoOfSaves() {
+        return noOfSaves;
+    }
+}
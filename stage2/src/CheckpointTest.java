@@ -0,0 +1,131 @@
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.stream.Stream;
+
+
+public class CheckpointTest {
+
+    private Path directory;
+    private Path file;
+    private World world;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // The example of the problem statement
+        directory = Files.createTempDirectory("checkpoint");
+        file = directory.resolve("world.in");
+        Files.write(file, "3 4 2 3 2 10\n0 0 1 3 2 9\n1 2 1 0 0 9\n2 0 2 2 0 9\n".getBytes());
+        world = new World(file.toString());
+        world.initialise();
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Test that a saved allocation is read back with the same score, and no temporary file is left behind
+     */
+    @Test
+    public void testSaveAndResume() throws IOException {
+        world.solve();
+        Checkpoint checkpoint = new Checkpoint(directory.resolve("world.out").toString());
+        checkpoint.save(world);
+        assertEquals(1, checkpoint.getNoOfSaves());
+        assertEquals("2 2 1\n1 0\n", new String(Files.readAllBytes(checkpoint.getPath())));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+
+        World resumed = new World(file.toString());
+        resumed.initialise();
+        resumed.loadSolution(checkpoint.getPath().toString());
+        assertEquals(world.score(), resumed.score());
+    }
+
+    /**
+     * Test that a new checkpoint is readable by everyone, and a saved one keeps the permissions it had
+     */
+    @Test
+    public void testSaveKeepsPermissions() throws IOException {
+        assumeTrue(Files.getFileAttributeView(directory, PosixFileAttributeView.class) != null);
+        world.solve();
+        Checkpoint checkpoint = new Checkpoint(directory.resolve("world.out").toString());
+        checkpoint.save(world);
+        assertEquals(Checkpoint.PERMISSIONS, Files.getPosixFilePermissions(checkpoint.getPath()));
+
+        Set<PosixFilePermission> groupOnly = PosixFilePermissions.fromString("rw-rw----");
+        Files.setPosixFilePermissions(checkpoint.getPath(), groupOnly);
+        checkpoint.save(world);
+        assertEquals(groupOnly, Files.getPosixFilePermissions(checkpoint.getPath()));
+    }
+
+    /**
+     * Test that improving saves the allocation it ends with
+     */
+    @Test
+    public void testImproveSaves() throws IOException {
+        Path saved = directory.resolve("world.out");
+        Files.write(saved, "3 0 2 1\n0\n".getBytes());
+        world.loadSolution(saved.toString());
+        assertEquals(6, world.score());
+        Checkpoint checkpoint = new Checkpoint(saved.toString());
+        world.improve(100, checkpoint);
+        assertEquals(10, world.score());
+        assertTrue(checkpoint.getNoOfSaves() >= 1);
+
+        World resumed = new World(file.toString());
+        resumed.initialise();
+        resumed.loadSolution(saved.toString());
+        assertEquals(10, resumed.score());
+    }
+
+    /**
+     * Test that an allocation with a ride that does not exist, or is assigned twice, is not loaded
+     */
+    @Test
+    public void testLoadInvalid() throws IOException {
+        Path saved = directory.resolve("world.out");
+        Files.write(saved, "1 0\n1 3\n".getBytes());
+        try {
+            world.loadSolution(saved.toString());
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("ride 3"));
+        }
+        Files.write(saved, "1 0\n1 0\n".getBytes());
+        try {
+            world.loadSolution(saved.toString());
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("Line 2"));
+        }
+    }
+}
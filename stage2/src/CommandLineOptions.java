@@ -0,0 +1,83 @@
+import com.beust.jcommander.Parameter;
+
+/**
+ * The command line options of the solver, parsed with JCommander.
+ */
+public class CommandLineOptions
+{
+    /**
+     * How the first allocation is found
+     */
+    public enum Solver
+    {
+        // Step through the simulation, giving each free vehicle its best ride
+        TICK,
+        // Jump from one free vehicle to the next instead of stepping
+        EVENT,
+        // Share out the rides between all the vehicles free at each step with a min-cost matching
+        BATCH,
+        // Step through the simulation, searching for all the free vehicles at once and claiming rides without locks
+        CONCURRENT,
+        // Solve with every built-in ride policy at once and keep the best allocation
+        PORTFOLIO,
+        // Cover the ride graph with one chain of rides per vehicle that together score the most points
+        CHAIN
+    }
+
+    @Parameter(description = "<input file>")
+    private String input;
+
+    @Parameter(names = "--solver", description = "How the first allocation is found: TICK, EVENT, BATCH, CONCURRENT, PORTFOLIO or CHAIN")
+    private Solver solver = Solver.TICK;
+
+    @Parameter(names = "--time-limit", description = "Number of seconds, from the start, to keep improving the allocation with local search")
+    private int timeLimit = 0;
+
+    @Parameter(names = "--output", description = "File the allocation is written to instead of the standard output, gzip-compressed if it ends in .gz")
+    private String output;
+
+    @Parameter(names = "--checkpoint", description = "File the best allocation is saved to whenever it improves")
+    private String checkpoint;
+
+    @Parameter(names = "--resume", description = "Allocation file, such as a checkpoint, to start from instead of solving")
+    private String resume;
+
+    @Parameter(names = "--stats", description = "Print the work the solver did to the standard error")
+    private boolean stats = false;
+
+    @Parameter(names = {"--help", "-h"}, help = true, description = "Print this help")
+    private boolean help = false;
+
+    // Getters for each option
+    public String getInput() {
+        return input;
+    }
+
+    public Solver getSolver() {
+        return solver;
+    }
+
+    public int getTimeLimit() {
+        return timeLimit;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    public String getResume() {
+        return resume;
+    }
+
+    public boolean isStats() {
+        return stats;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+}
@@ -0,0 +1,155 @@
+import java.util.Arrays;
+
+/**
+ * Model the vehicles of a fleet in order of the step at which they are free, as an indexed binary min-heap.
+ * The heap knows where each vehicle is, so the step of a vehicle that took a ride can be updated in place in
+ * logarithmic time, instead of sorting the whole fleet again.
+ * Vehicles free at the same step are ordered by a tie-break given with the step, lowest first.
+ */
+public class FleetQueue
+{
+    // The vehicle IDs, in heap order
+    private int[] heap;
+    // The position of each vehicle in the heap, or -1 if it is not in the queue
+    private int[] positions;
+    // The step at which each vehicle is free, and its tie-break
+    private int[] freeAt;
+    private long[] ties;
+    // Number of vehicles in the queue
+    private int size;
+
+    /**
+     * Constructor of FleetQueue, with no vehicle in it.
+     *
+     * @param noOfVehicles Number of vehicles in the fleet, vehicle IDs must be from 0 to noOfVehicles - 1
+     */
+    public FleetQueue(int noOfVehicles) {
+        heap = new int[noOfVehicles];
+        positions = new int[noOfVehicles];
+        Arrays.fill(positions, -1);
+        freeAt = new int[noOfVehicles];
+        ties = new long[noOfVehicles];
+    }
+
+    /**
+     * Add a vehicle that is not in the queue.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param step The step at which the vehicle is free
+     * @param tie The tie-break between vehicles free at the same step, lowest first
+     */
+    public void add(int vehicle, int step, long tie) {
+        freeAt[vehicle] = step;
+        ties[vehicle] = tie;
+        heap[size] = vehicle;
+        positions[vehicle] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Change the step at which a vehicle in the queue is free, and its tie-break.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param step The step at which the vehicle is free
+     * @param tie The tie-break between vehicles free at the same step, lowest first
+     */
+    public void update(int vehicle, int step, long tie) {
+        freeAt[vehicle] = step;
+        ties[vehicle] = tie;
+        int position = positions[vehicle];
+        siftUp(position);
+        if (positions[vehicle] == position) {
+            siftDown(position);
+        }
+    }
+
+    /**
+     * @return The ID of the vehicle that is free first, without removing it
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Remove the vehicle that is free first.
+     *
+     * @return The ID of the vehicle
+     */
+    public int poll() {
+        int top = heap[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int vehicle) {
+        return positions[vehicle] >= 0;
+    }
+
+    /**
+     * @param vehicle The ID of a vehicle in the queue
+     * @return The step at which the vehicle is free
+     */
+    public int getFreeAt(int vehicle) {
+        return freeAt[vehicle];
+    }
+
+    /**
+     * @param vehicle The ID of a vehicle that was added to the queue
+     * @return The tie-break the vehicle was last added or updated with, which is kept once it leaves the queue
+     */
+    public long getTie(int vehicle) {
+        return ties[vehicle];
+    }
+
+    // Private methods
+    private boolean comesBefore(int vehicle, int other) {
+        return freeAt[vehicle] < freeAt[other] || (freeAt[vehicle] == freeAt[other] && ties[vehicle] < ties[other]);
+    }
+
+    private void siftUp(int position) {
+        int vehicle = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!comesBefore(vehicle, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = vehicle;
+        positions[vehicle] = position;
+    }
+
+    private void siftDown(int position) {
+        int vehicle = heap[position];
+        while (2 * position + 1 < size) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && comesBefore(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!comesBefore(heap[child], vehicle)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = vehicle;
+        positions[vehicle] = position;
+    }
+}
@@ -0,0 +1,91 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+
+public class FleetQueueTest {
+
+    private FleetQueue queue;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        queue = new FleetQueue(5);
+        queue.add(0, 10, 0);
+        queue.add(1, 3, 1);
+        queue.add(2, 3, -1);
+        queue.add(3, 7, 3);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that vehicles leave in order of the step at which they are free, then of their tie-break
+     */
+    @Test
+    public void testPollOrder() {
+        assertEquals(4, queue.size());
+        assertFalse(queue.contains(4));
+        assertEquals(2, queue.peek());
+        assertEquals(2, queue.poll());
+        assertEquals(1, queue.poll());
+        assertEquals(3, queue.poll());
+        assertEquals(0, queue.poll());
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.contains(0));
+    }
+
+    /**
+     * Test that a vehicle moves both ways when its step is updated
+     */
+    @Test
+    public void testUpdate() {
+        queue.update(2, 8, -1);
+        assertEquals(8, queue.getFreeAt(2));
+        queue.update(0, 1, 0);
+        assertEquals(0, queue.poll());
+        assertEquals(1, queue.poll());
+        assertEquals(3, queue.poll());
+        assertEquals(2, queue.poll());
+    }
+
+    /**
+     * Test that random updates keep the queue in order
+     */
+    @Test
+    public void testRandomUpdates() {
+        Random random = new Random(1);
+        queue = new FleetQueue(100);
+        for (int vehicle = 0; vehicle < 100; vehicle++) {
+            queue.add(vehicle, random.nextInt(50), vehicle);
+        }
+        for (int i = 0; i < 1000; i++) {
+            int vehicle = random.nextInt(100);
+            queue.update(vehicle, random.nextInt(50), vehicle);
+        }
+        int lastStep = -1;
+        int lastVehicle = -1;
+        while (!queue.isEmpty()) {
+            int vehicle = queue.peek();
+            int step = queue.getFreeAt(vehicle);
+            assertTrue(step > lastStep || (step == lastStep && vehicle > lastVehicle));
+            assertEquals(vehicle, queue.poll());
+            lastStep = step;
+            lastVehicle = vehicle;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+import java.util.Arrays;
+
+/**
+ * Model all the vehicles of the world as columns of primitive values, indexed by vehicle ID.
+ * Holds the position of each vehicle, the step at which it is free again, and the IDs of the rides assigned to it.
+ */
+public class FleetTable
+{
+    // Initial number of rides in the route of each vehicle
+    private static final int INITIAL_ROUTE_CAPACITY = 8;
+
+    // The rides the vehicles are assigned to
+    private RideTable rides;
+    // The x coordinate of each vehicle
+    private int[] x;
+    // The y coordinate of each vehicle
+    private int[] y;
+    // The step at which each vehicle is free to take a new ride
+    private int[] freeAt;
+    // The IDs of the rides assigned to each vehicle, in order
+    private int[][] routes;
+    // Number of rides assigned to each vehicle
+    private int[] routeLengths;
+
+    /**
+     * Constructor of FleetTable. Every vehicle starts at [0,0] at step 0 with no rides.
+     *
+     * @param noOfVehicles Number of vehicles in the fleet
+     * @param rides The rides the vehicles are assigned to
+     */
+    public FleetTable(int noOfVehicles, RideTable rides) {
+        this.rides = rides;
+        x = new int[noOfVehicles];
+        y = new int[noOfVehicles];
+        freeAt = new int[noOfVehicles];
+        routes = new int[noOfVehicles][INITIAL_ROUTE_CAPACITY];
+        routeLengths = new int[noOfVehicles];
+    }
+
+    /**
+     * Calculate the distance from the current location of a vehicle to the starting point of a ride.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param rid The ID of the ride
+     * @return the distance need to go to the starting point
+     */
+    public int distanceToRideStart(int vehicle, int rid) {
+        return Math.abs(rides.getPickupX(rid) - x[vehicle]) + Math.abs(rides.getPickupY(rid) - y[vehicle]);
+    }
+
+    /**
+     * Assign a ride to a vehicle. The vehicle moves to the finishing point of the ride.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param rid The ID of the ride
+     * @param endStep The step at which the vehicle finishes the ride
+     */
+    public void addRide(int vehicle, int rid, int endStep) {
+        int[] route = routes[vehicle];
+        if (routeLengths[vehicle] == route.length) {
+            route = Arrays.copyOf(route, route.length * 2);
+            routes[vehicle] = route;
+        }
+        route[routeLengths[vehicle]++] = rid;
+        x[vehicle] = rides.getDestinationX(rid);
+        y[vehicle] = rides.getDestinationY(rid);
+        freeAt[vehicle] = endStep;
+    }
+
+    /**
+     * Replace the route of a vehicle. The vehicle moves to the finishing point of the last ride of the route.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param route The IDs of the rides, in order
+     * @param length The number of rides in the route
+     * @param endStep The step at which the vehicle finishes the last ride
+     */
+    public void setRoute(int vehicle, int[] route, int length, int endStep) {
+        routes[vehicle] = Arrays.copyOf(route, Math.max(length, INITIAL_ROUTE_CAPACITY));
+        routeLengths[vehicle] = length;
+        x[vehicle] = length == 0 ? 0 : rides.getDestinationX(route[length - 1]);
+        y[vehicle] = length == 0 ? 0 : rides.getDestinationY(route[length - 1]);
+        freeAt[vehicle] = endStep;
+    }
+
+    // Getters for each column
+    public int size() {
+        return freeAt.length;
+    }
+
+    public int getX(int vehicle) {
+        return x[vehicle];
+    }
+
+    public int getY(int vehicle) {
+        return y[vehicle];
+    }
+
+    public int getFreeAt(int vehicle) {
+        return freeAt[vehicle];
+    }
+
+    public int getRouteLength(int vehicle) {
+        return routeLengths[vehicle];
+    }
+
+    /**
+     * @param vehicle The ID of the vehicle
+     * @param index The position of the ride in the route of the vehicle
+     * @return The ID of the ride at that position
+     */
+    public int getRide(int vehicle, int index) {
+        return routes[vehicle][index];
+    }
+}
@@ -0,0 +1,94 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class FleetTableTest {
+
+    private RideTable rides;
+    private FleetTable fleet;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // The rides of the example of the problem statement
+        rides = new RideTable(3);
+        rides.add(0, 0, 1, 3, 2, 9);
+        rides.add(1, 2, 1, 0, 0, 9);
+        rides.add(2, 0, 2, 2, 0, 9);
+        fleet = new FleetTable(2, rides);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that every vehicle starts at [0,0] at step 0 with no rides
+     */
+    @Test
+    public void testInitialState() {
+        assertEquals(2, fleet.size());
+        for (int vehicle = 0; vehicle < fleet.size(); vehicle++) {
+            assertEquals(0, fleet.getX(vehicle));
+            assertEquals(0, fleet.getY(vehicle));
+            assertEquals(0, fleet.getFreeAt(vehicle));
+            assertEquals(0, fleet.getRouteLength(vehicle));
+        }
+    }
+
+    @Test
+    public void testDistanceToRideStart() {
+        assertEquals(0, fleet.distanceToRideStart(0, 0));
+        assertEquals(3, fleet.distanceToRideStart(0, 1));
+        assertEquals(2, fleet.distanceToRideStart(0, 2));
+    }
+
+    /**
+     * Test that a vehicle given a ride moves to its finishing point, and its route grows past its first capacity
+     */
+    @Test
+    public void testAddRide() {
+        fleet.addRide(1, 2, 4);
+        assertEquals(2, fleet.getX(1));
+        assertEquals(2, fleet.getY(1));
+        assertEquals(4, fleet.getFreeAt(1));
+        assertEquals(1, fleet.distanceToRideStart(1, 1));
+        fleet.addRide(1, 1, 7);
+        assertEquals(2, fleet.getRouteLength(1));
+        assertEquals(2, fleet.getRide(1, 0));
+        assertEquals(1, fleet.getRide(1, 1));
+        for (int i = 0; i < 20; i++) {
+            fleet.addRide(0, i % 3, i);
+        }
+        assertEquals(20, fleet.getRouteLength(0));
+        assertEquals(19 % 3, fleet.getRide(0, 19));
+    }
+
+    /**
+     * Test that replacing a route moves the vehicle to the finishing point of its last ride, or back to [0,0]
+     */
+    @Test
+    public void testSetRoute() {
+        fleet.setRoute(0, new int[] {0, 2, 1}, 2, 6);
+        assertEquals(2, fleet.getRouteLength(0));
+        assertEquals(2, fleet.getRide(0, 1));
+        assertEquals(2, fleet.getX(0));
+        assertEquals(2, fleet.getY(0));
+        assertEquals(6, fleet.getFreeAt(0));
+        fleet.setRoute(0, new int[0], 0, 0);
+        assertEquals(0, fleet.getRouteLength(0));
+        assertEquals(0, fleet.getX(0));
+        assertEquals(0, fleet.getY(0));
+    }
+}
@@ -0,0 +1,157 @@
+import com.beust.jcommander.Parameter;
+
+/**
+ * The command line options of the input generator, parsed with JCommander.
+ */
+public class GeneratorOptions
+{
+    /**
+     * Where in the city rides start and finish
+     */
+    public enum Spatial
+    {
+        // Anywhere in the city with the same probability
+        UNIFORM,
+        // Mostly around a few random hotspots, and anywhere else for the rest
+        HOTSPOTS
+    }
+
+    /**
+     * When in the simulation rides can start
+     */
+    public enum Temporal
+    {
+        // At any step with the same probability
+        UNIFORM,
+        // Mostly in a morning and an evening peak, and at any step for the rest
+        RUSH_HOUR
+    }
+
+    @Parameter(description = "<output file>, or - for the standard output")
+    private String output = "-";
+
+    @Parameter(names = "--rows", description = "Number of rows of the grid")
+    private int rows = 10000;
+
+    @Parameter(names = "--cols", description = "Number of columns of the grid")
+    private int cols = 10000;
+
+    @Parameter(names = "--vehicles", description = "Number of vehicles in the fleet")
+    private int vehicles = 400;
+
+    @Parameter(names = "--rides", description = "Number of rides")
+    private int rides = 10000;
+
+    @Parameter(names = "--bonus", description = "Per-ride bonus for starting the ride on time")
+    private int bonus = 25;
+
+    @Parameter(names = "--steps", description = "Number of steps in the simulation")
+    private int steps = 50000;
+
+    @Parameter(names = "--seed", description = "Seed of the random numbers, the same seed gives the same file")
+    private long seed = 1;
+
+    @Parameter(names = "--spatial", description = "Where rides start and finish: UNIFORM or HOTSPOTS")
+    private Spatial spatial = Spatial.UNIFORM;
+
+    @Parameter(names = "--hotspots", description = "Number of hotspots")
+    private int hotspots = 10;
+
+    @Parameter(names = "--temporal", description = "When rides can start: UNIFORM or RUSH_HOUR")
+    private Temporal temporal = Temporal.UNIFORM;
+
+    @Parameter(names = "--slack", description = "Most steps a ride can be started after its earliest start and still finish in time")
+    private int slack = 5000;
+
+    @Parameter(names = {"--help", "-h"}, help = true, description = "Print this help")
+    private boolean help = false;
+
+    // Getters and setters for each option
+    public String getOutput() {
+        return output;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public void setCols(int cols) {
+        this.cols = cols;
+    }
+
+    public int getVehicles() {
+        return vehicles;
+    }
+
+    public void setVehicles(int vehicles) {
+        this.vehicles = vehicles;
+    }
+
+    public int getRides() {
+        return rides;
+    }
+
+    public void setRides(int rides) {
+        this.rides = rides;
+    }
+
+    public int getBonus() {
+        return bonus;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public void setSteps(int steps) {
+        this.steps = steps;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public Spatial getSpatial() {
+        return spatial;
+    }
+
+    public void setSpatial(Spatial spatial) {
+        this.spatial = spatial;
+    }
+
+    public int getHotspots() {
+        return hotspots;
+    }
+
+    public Temporal getTemporal() {
+        return temporal;
+    }
+
+    public void setTemporal(Temporal temporal) {
+        this.temporal = temporal;
+    }
+
+    public int getSlack() {
+        return slack;
+    }
+
+    public void setSlack(int slack) {
+        this.slack = slack;
+    }
+
+    public boolean isHelp() {
+        return help;
+    }
+}
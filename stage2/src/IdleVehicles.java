@@ -0,0 +1,107 @@
+import java.util.Arrays;
+
+/**
+ * Model the vehicles that are free but found no ride they could take, each with the step at which it is searched
+ * for again. Until then a search would find no ride again, unless a ride it can take is released, so the solvers
+ * leave idle vehicles out of their searches instead of scanning the same pending rides for them at every step.
+ * The idle vehicles are kept in an unordered list that only holds them, so waking them goes through the idle
+ * vehicles rather than the whole fleet.
+ */
+public class IdleVehicles
+{
+    // The IDs of the idle vehicles, in no particular order
+    private int[] members;
+    // The position of each vehicle in members, or -1 if it is not idle
+    private int[] positions;
+    // The step at which each idle vehicle is searched for again
+    private int[] wakeAt;
+    // Number of idle vehicles
+    private int size;
+
+    /**
+     * Constructor of IdleVehicles, with no vehicle idle.
+     *
+     * @param noOfVehicles Number of vehicles in the fleet, vehicle IDs must be from 0 to noOfVehicles - 1
+     */
+    public IdleVehicles(int noOfVehicles) {
+        members = new int[noOfVehicles];
+        positions = new int[noOfVehicles];
+        Arrays.fill(positions, -1);
+        wakeAt = new int[noOfVehicles];
+        size = 0;
+    }
+
+    /**
+     * Make a vehicle that is not idle idle until a step.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param step The step at which the vehicle is searched for again
+     */
+    public void add(int vehicle, int step) {
+        wakeAt[vehicle] = step;
+        members[size] = vehicle;
+        positions[vehicle] = size++;
+    }
+
+    /**
+     * Bring forward the step at which an idle vehicle is searched for again, if it is later than the given step.
+     *
+     * @param vehicle The ID of an idle vehicle
+     * @param step The step at which the vehicle could take a ride
+     */
+    public void wake(int vehicle, int step) {
+        wakeAt[vehicle] = Math.min(wakeAt[vehicle], step);
+    }
+
+    /**
+     * Remove every vehicle that is searched for again at or before a step.
+     *
+     * @param step The current step of the simulation
+     * @param woken Buffer for the IDs of the vehicles removed
+     * @return The number of vehicles removed
+     */
+    public int wakeUntil(int step, int[] woken) {
+        int count = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            int vehicle = members[i];
+            if (wakeAt[vehicle] <= step) {
+                woken[count++] = vehicle;
+                remove(vehicle);
+            }
+        }
+        return count;
+    }
+
+    public boolean contains(int vehicle) {
+        return positions[vehicle] >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i A position from 0 to size - 1
+     * @return The ID of the idle vehicle at this position
+     */
+    public int get(int i) {
+        return members[i];
+    }
+
+    /**
+     * @param vehicle The ID of an idle vehicle
+     * @return The step at which the vehicle is searched for again
+     */
+    public int getWakeAt(int vehicle) {
+        return wakeAt[vehicle];
+    }
+
+    // Private methods
+    private void remove(int vehicle) {
+        int position = positions[vehicle];
+        int last = members[--size];
+        members[position] = last;
+        positions[last] = position;
+        positions[vehicle] = -1;
+    }
+}
@@ -0,0 +1,74 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+
+public class IdleVehiclesTest {
+
+    private IdleVehicles idle;
+    private int[] woken;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        idle = new IdleVehicles(5);
+        idle.add(0, 10);
+        idle.add(2, 3);
+        idle.add(4, Integer.MAX_VALUE);
+        woken = new int[5];
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that only the vehicles due by a step are woken, and they are no longer idle
+     */
+    @Test
+    public void testWakeUntil() {
+        assertEquals(3, idle.size());
+        assertEquals(0, idle.wakeUntil(2, woken));
+        assertEquals(1, idle.wakeUntil(3, woken));
+        assertEquals(2, woken[0]);
+        assertFalse(idle.contains(2));
+        assertTrue(idle.contains(0));
+        assertTrue(idle.contains(4));
+        assertEquals(1, idle.wakeUntil(100, woken));
+        assertEquals(0, woken[0]);
+        assertEquals(1, idle.size());
+        assertEquals(4, idle.get(0));
+    }
+
+    /**
+     * Test that waking a vehicle only ever brings its step forward
+     */
+    @Test
+    public void testWake() {
+        idle.wake(0, 12);
+        assertEquals(10, idle.getWakeAt(0));
+        idle.wake(0, 5);
+        idle.wake(4, 5);
+        assertEquals(5, idle.getWakeAt(0));
+        int count = idle.wakeUntil(5, woken);
+        int[] ids = Arrays.copyOf(woken, count);
+        Arrays.sort(ids);
+        assertArrayEquals(new int[] {0, 2, 4}, ids);
+        assertEquals(0, idle.size());
+        idle.add(4, 7);
+        assertTrue(idle.contains(4));
+        assertEquals(7, idle.getWakeAt(4));
+    }
+}
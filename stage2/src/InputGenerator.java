@@ -0,0 +1,169 @@
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.ParameterException;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+/**
+ * Write a random input file in the format World.initialise reads: a header line "R C F N B T",
+ * then one line "a b x y s f" per ride.
+ * The rides are written as they are drawn, so the size of the file is not limited by memory,
+ * and the same options and seed always give the same file.
+ */
+public class InputGenerator
+{
+    // Size of the buffer the digits are written to
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Longest line of numbers, 6 numbers of up to 10 digits and a separator each
+    private static final int MAX_LINE_LENGTH = 66;
+    // Share of the rides that start anywhere, even with hotspots or rush hours
+    private static final double BACKGROUND_SHARE = 0.2;
+    // Steps of the two rush hours and their spread, as shares of the number of steps
+    private static final double MORNING_PEAK = 0.25;
+    private static final double EVENING_PEAK = 0.7;
+    private static final double PEAK_SPREAD = 0.05;
+    // Spread of the rides around a hotspot, as a share of the size of the grid
+    private static final double HOTSPOT_SPREAD = 0.03;
+
+    private GeneratorOptions options;
+    private Random random;
+    // The coordinates of each hotspot
+    private int[] hotspotX;
+    private int[] hotspotY;
+    private byte[] buffer;
+    private int position;
+
+    /**
+     * Constructor of InputGenerator
+     *
+     * @param options The size of the world and the distributions of the rides
+     */
+    public InputGenerator(GeneratorOptions options) {
+        this.options = options;
+        random = new Random(options.getSeed());
+        buffer = new byte[BUFFER_SIZE];
+        int noOfHotspots = options.getSpatial() == GeneratorOptions.Spatial.HOTSPOTS ? options.getHotspots() : 0;
+        hotspotX = new int[noOfHotspots];
+        hotspotY = new int[noOfHotspots];
+        for (int i = 0; i < noOfHotspots; i++) {
+            hotspotX[i] = random.nextInt(options.getRows());
+            hotspotY[i] = random.nextInt(options.getCols());
+        }
+    }
+
+    public static void main(String[] args) {
+        GeneratorOptions options = new GeneratorOptions();
+        JCommander commander = JCommander.newBuilder().addObject(options).programName("InputGenerator").build();
+        try {
+            commander.parse(args);
+        } catch (ParameterException e) {
+            System.err.println(e.getMessage());
+            commander.usage();
+            System.exit(1);
+        }
+        if (options.isHelp()) {
+            commander.usage();
+            return;
+        }
+        try (OutputStream out = options.getOutput().equals("-") ? System.out
+                : new FileOutputStream(options.getOutput())) {
+            new InputGenerator(options).write(out);
+        } catch (IOException e) {
+            System.err.println("A problem was encountered writing the file: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Write the header and every ride.
+     *
+     * @param out The stream the file is written to, which is flushed but not closed
+     * @throws IOException If the stream cannot be written to
+     */
+    public void write(OutputStream out) throws IOException {
+        position = 0;
+        int[] pickup = new int[2];
+        int[] destination = new int[2];
+        writeLine(out, options.getRows(), options.getCols(), options.getVehicles(), options.getRides(),
+                options.getBonus(), options.getSteps());
+        for (int rid = 0; rid < options.getRides(); rid++) {
+            nextLocation(pickup);
+            nextLocation(destination);
+            int distance = Math.abs(destination[0] - pickup[0]) + Math.abs(destination[1] - pickup[1]);
+            int earliestStart = nextEarliestStart();
+            int slack = random.nextInt(options.getSlack() + 1);
+            // The latest finish is after the earliest start and no later than the last step
+            int latestFinish = (int) Math.min(options.getSteps(), (long) earliestStart + distance + slack);
+            writeLine(out, pickup[0], pickup[1], destination[0], destination[1], earliestStart,
+                    Math.max(earliestStart + 1, latestFinish));
+        }
+        out.write(buffer, 0, position);
+        out.flush();
+    }
+
+    // Private methods
+    /**
+     * Draw the row and column of a location, near a random hotspot or anywhere in the city.
+     */
+    private void nextLocation(int[] location) {
+        if (hotspotX.length > 0 && random.nextDouble() >= BACKGROUND_SHARE) {
+            int hotspot = random.nextInt(hotspotX.length);
+            location[0] = clamp(hotspotX[hotspot] + (int) Math.round(random.nextGaussian() * HOTSPOT_SPREAD
+                    * options.getRows()), options.getRows());
+            location[1] = clamp(hotspotY[hotspot] + (int) Math.round(random.nextGaussian() * HOTSPOT_SPREAD
+                    * options.getCols()), options.getCols());
+        } else {
+            location[0] = random.nextInt(options.getRows());
+            location[1] = random.nextInt(options.getCols());
+        }
+    }
+
+    /**
+     * Draw the earliest start of a ride, near a rush hour or at any step.
+     */
+    private int nextEarliestStart() {
+        int steps = options.getSteps();
+        if (options.getTemporal() == GeneratorOptions.Temporal.RUSH_HOUR && random.nextDouble() >= BACKGROUND_SHARE) {
+            double peak = random.nextBoolean() ? MORNING_PEAK : EVENING_PEAK;
+            return clamp((int) Math.round((peak + random.nextGaussian() * PEAK_SPREAD) * steps), steps);
+        }
+        return random.nextInt(steps);
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    /**
+     * Write non-negative integers separated by spaces, and a new line, to the buffer.
+     * The buffer is written to the stream when there might not be room for another line.
+     */
+    private void writeLine(OutputStream out, int... values) throws IOException {
+        if (position > buffer.length - MAX_LINE_LENGTH) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer[position++] = ' ';
+            }
+            writeInt(values[i]);
+        }
+        buffer[position++] = '\n';
+    }
+
+    private void writeInt(int value) {
+        // Digits are written from the end, so count them first
+        int length = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            length++;
+        }
+        for (int i = position + length - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += length;
+    }
+}
@@ -0,0 +1,78 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+
+public class InputGeneratorTest {
+
+    private GeneratorOptions options;
+    private Path file;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        options = new GeneratorOptions();
+        options.setRows(50);
+        options.setCols(80);
+        options.setVehicles(3);
+        options.setRides(1000);
+        options.setSteps(500);
+        options.setSlack(20);
+        file = Files.createTempFile("generated", ".in");
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test that the file can be read back, and that every ride is inside the grid and the simulation
+     */
+    @Test
+    public void testValidFile() throws Exception {
+        options.setSpatial(GeneratorOptions.Spatial.HOTSPOTS);
+        options.setTemporal(GeneratorOptions.Temporal.RUSH_HOUR);
+        Files.write(file, generate());
+        int[] world = new InputReader().parseWorld(file.toString());
+        assertEquals(InputReader.HEADER_LENGTH + 1000 * InputReader.RIDE_LENGTH, world.length);
+        assertArrayEquals(new int[] {50, 80, 3, 1000, 25, 500}, Arrays.copyOf(world, 6));
+        for (int i = InputReader.HEADER_LENGTH; i < world.length; i += InputReader.RIDE_LENGTH) {
+            assertTrue(world[i] >= 0 && world[i] < 50 && world[i + 2] >= 0 && world[i + 2] < 50);
+            assertTrue(world[i + 1] >= 0 && world[i + 1] < 80 && world[i + 3] >= 0 && world[i + 3] < 80);
+            assertTrue(world[i + 4] >= 0 && world[i + 4] < world[i + 5] && world[i + 5] <= 500);
+        }
+    }
+
+    /**
+     * Test that the same seed gives the same file, and another seed another file
+     */
+    @Test
+    public void testSeed() throws Exception {
+        byte[] first = generate();
+        assertArrayEquals(first, generate());
+        options.setSeed(2);
+        assertFalse(Arrays.equals(first, generate()));
+    }
+
+    private byte[] generate() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new InputGenerator(options).write(out);
+        return out.toByteArray();
+    }
+}
@@ -1,43 +1,76 @@
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.EOFException;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.file.NoSuchFileException;
 import java.util.Arrays;
 
 /**
- * InputReader reads text input from the file. The text input is then chopped into lines,
- * and create new objects based on each line.
+ * InputReader reads text input from the file. The text input is read number by number straight from
+ * the memory-mapped file into a single int array, without creating objects for each line.
  */
 public class InputReader
 {
+    // Number of integers in the first line of the input file
+    public static final int HEADER_LENGTH = 6;
+    // Number of integers in each ride line of the input file
+    public static final int RIDE_LENGTH = 6;
+
     public InputReader() {
         // Do nothing
     }
 
     /**
-     * Read input from the file and store each line as an int array, and put the int array in an array list
+     * Read the world and the rides from the input file into one int array.
+     * The first HEADER_LENGTH integers are the first line of the file, followed by RIDE_LENGTH integers for each ride.
+     * The array is sized from the number of rides in the first line, once the first line has been checked.
      *
      * @param worldAndRidesFileName The name of the input file
-     * @return An array list of integer array that stores each line in the file
+     * @return An int array holding every number in the file, or an empty array if the file could not be read
      */
-    public ArrayList<int[]> parseInput(String worldAndRidesFileName) {
-        ArrayList<int[]> file = new ArrayList<>();
-        // Parse input for Input file
-        try (BufferedReader reader = new BufferedReader(new FileReader(worldAndRidesFileName))) {
-            // Reading every line in the fine, until the last line is null
-            for (String line; (line = reader.readLine()) != null; ) {
-                // Split each line with " " and store it in a String array
-                String[] fileArray = line.split(" ");
-                // Convert each number in the string arr to an integer
-                int[] array = Arrays.stream(fileArray).mapToInt(Integer::parseInt).toArray();
-                file.add(array);
+    public int[] parseWorld(String worldAndRidesFileName) {
+        try (MappedFileReader reader = new MappedFileReader(worldAndRidesFileName)) {
+            int[] header = new int[HEADER_LENGTH];
+            for (int i = 0; i < HEADER_LENGTH; i++) {
+                header[i] = reader.nextInt();
+            }
+            checkHeader(header, reader.getFileSize());
+            int noOfRides = header[3];
+            int[] file = Arrays.copyOf(header, HEADER_LENGTH + RIDE_LENGTH * noOfRides);
+            int i = HEADER_LENGTH;
+            try {
+                for (; i < file.length; i++) {
+                    file[i] = reader.nextInt();
+                }
+            } catch (EOFException e) {
+                // Fewer rides than declared, keep the rides that are complete
+                file = Arrays.copyOf(file, i - (i - HEADER_LENGTH) % RIDE_LENGTH);
             }
-        } catch (FileNotFoundException e) {
+            return file;
+        } catch (NoSuchFileException e) {
             System.err.print("Unable to open file.");
         } catch (IOException e) {
-            System.err.print("A problem was encountered reading the file");
+            System.err.print("A problem was encountered reading the file: " + e.getMessage());
+        }
+        return new int[0];
+    }
+
+    /**
+     * Check the first line of the input file before anything is sized from it. No number may be negative, and the
+     * file must be large enough to hold the rides declared, at one digit and one separator per integer at least.
+     *
+     * @param header The integers of the first line
+     * @param fileSize The size of the input file in bytes
+     * @throws IOException If the first line cannot be right
+     */
+    private static void checkHeader(int[] header, long fileSize) throws IOException {
+        for (int i = 0; i < HEADER_LENGTH; i++) {
+            if (header[i] < 0) {
+                throw new IOException("The first line has a negative number " + header[i]);
+            }
+        }
+        long maxRides = fileSize / (2 * RIDE_LENGTH);
+        if (header[3] > maxRides) {
+            throw new IOException("The first line declares " + header[3] + " rides, but the file can hold at most "
+                    + maxRides);
         }
-        return file;
     }
 }
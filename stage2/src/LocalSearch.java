@@ -0,0 +1,406 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Improve the routes of a fleet by moving rides between vehicles, accepting only the moves that raise the score.
+ * Each round pairs every vehicle with a vehicle whose rides are nearby, and the pairs are improved in parallel
+ * since they share no vehicle. Within a pair, rides are relocated from one route to the other, swapped between
+ * the routes, or the tails of the routes are exchanged. Rides that are not in any route are inserted where they fit.
+ * Only moves between rides that are close in space and time are tried, so that a round stays cheap.
+ * Once no improving move is left, the search can be restarted from a perturbed copy of the routes,
+ * which is kept only if it ends up with a higher score.
+ */
+public class LocalSearch
+{
+    // Number of rounds in a row without an improving move after which the search stops
+    private static final int MAX_IDLE_ROUNDS = 3;
+    // Seed of the random pairing of vehicles, so that runs can be repeated
+    private static final long SEED = 20180301L;
+
+    // The routes being improved
+    private RouteScorer scorer;
+    // All the rides
+    private RideTable rides;
+    // The vehicle each ride is assigned to, or -1 if it is not in any route
+    private int[] rideVehicle;
+    // All the rides, indexed by pickup location
+    private RideGrid ridesByPickup;
+    // Maximum distance, and difference in steps, between rides for a move between them to be tried
+    private int proximity;
+    private Random random;
+
+    /**
+     * Constructor of LocalSearch
+     *
+     * @param scorer The routes being improved
+     * @param rides All the rides
+     * @param rows Number of rows of the grid
+     * @param cols Number of columns of the grid
+     * @param proximity Maximum distance, and difference in steps, between rides for a move between them to be tried
+     */
+    public LocalSearch(RouteScorer scorer, RideTable rides, int rows, int cols, int proximity) {
+        this.scorer = scorer;
+        this.rides = rides;
+        this.proximity = proximity;
+        random = new Random(SEED);
+        rideVehicle = new int[rides.size()];
+        Arrays.fill(rideVehicle, -1);
+        for (int vehicle = 0; vehicle < scorer.size(); vehicle++) {
+            for (int i = 0; i < scorer.getRouteLength(vehicle); i++) {
+                rideVehicle[scorer.getRide(vehicle, i)] = vehicle;
+            }
+        }
+        ridesByPickup = new RideGrid(rows, cols, rides.size());
+        int[] cells = rides.getLocations().cellsIn(ridesByPickup);
+        for (int rid = 0; rid < rides.size(); rid++) {
+            ridesByPickup.addToCell(rid, cells[rides.getPickupLocation(rid)]);
+        }
+    }
+
+    /**
+     * Improve the routes until the deadline, or until no improving move is found for a few rounds.
+     *
+     * @param deadline The value of System.nanoTime at which the search stops
+     * @return The total improvement in score
+     */
+    public long run(long deadline) {
+        return run(deadline, improvement -> { });
+    }
+
+    /**
+     * Improve the routes until the deadline, or until no improving move is found for a few rounds.
+     *
+     * @param deadline The value of System.nanoTime at which the search stops
+     * @param onImprovement Called after every round that raised the score, with the total improvement so far
+     * @return The total improvement in score
+     */
+    public long run(long deadline, LongConsumer onImprovement) {
+        long improvement = 0;
+        int idleRounds = 0;
+        while (idleRounds < MAX_IDLE_ROUNDS && System.nanoTime() < deadline) {
+            int[] pairs = pairVehicles();
+            long gain = insertUnassigned(deadline);
+            gain += IntStream.range(0, pairs.length / 2).parallel()
+                    .mapToLong(i -> improvePair(pairs[2 * i], pairs[2 * i + 1], deadline))
+                    .sum();
+            improvement += gain;
+            idleRounds = gain > 0 ? 0 : idleRounds + 1;
+            if (gain > 0) {
+                onImprovement.accept(improvement);
+            }
+        }
+        return improvement;
+    }
+
+    /**
+     * Take random rides out of the routes, so that the next run can insert them elsewhere.
+     *
+     * @param noOfRides The number of rides to take out, or all of them if the routes have fewer
+     * @return The change in score, not positive
+     */
+    public long perturb(int noOfRides) {
+        long change = 0;
+        int left = Math.min(noOfRides, countAssigned());
+        while (left > 0) {
+            int vehicle = random.nextInt(scorer.size());
+            if (scorer.getRouteLength(vehicle) == 0) {
+                continue;
+            }
+            int position = random.nextInt(scorer.getRouteLength(vehicle));
+            change += scorer.removeDelta(vehicle, position);
+            rideVehicle[scorer.remove(vehicle, position)] = -1;
+            left--;
+        }
+        return change;
+    }
+
+    /**
+     * @return A copy of the routes, that restore can go back to
+     */
+    public int[][] snapshot() {
+        int[][] routes = new int[scorer.size()][];
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            routes[vehicle] = new int[scorer.getRouteLength(vehicle)];
+            for (int i = 0; i < routes[vehicle].length; i++) {
+                routes[vehicle][i] = scorer.getRide(vehicle, i);
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Go back to routes taken by snapshot.
+     *
+     * @param routes The routes of every vehicle
+     */
+    public void restore(int[][] routes) {
+        Arrays.fill(rideVehicle, -1);
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            scorer.setRoute(vehicle, routes[vehicle], routes[vehicle].length);
+            for (int rid : routes[vehicle]) {
+                rideVehicle[rid] = vehicle;
+            }
+        }
+    }
+
+    /**
+     * @return The number of rides in the routes
+     */
+    public int countAssigned() {
+        int count = 0;
+        for (int vehicle : rideVehicle) {
+            if (vehicle >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Private methods
+    /**
+     * Pair each vehicle with a vehicle that has a ride starting near where one of its rides finishes.
+     * A vehicle that finds no such partner is paired with a random vehicle.
+     *
+     * @return The IDs of the vehicles, with each pair next to each other from an even position
+     */
+    int[] pairVehicles() {
+        int noOfVehicles = scorer.size();
+        int[] order = new int[noOfVehicles];
+        for (int vehicle = 0; vehicle < noOfVehicles; vehicle++) {
+            order[vehicle] = vehicle;
+        }
+        shuffle(order);
+        boolean[] paired = new boolean[noOfVehicles];
+        int[] pairs = new int[noOfVehicles];
+        int noOfPaired = 0;
+        int[] unpartnered = new int[noOfVehicles];
+        int noOfUnpartnered = 0;
+        int[] buffer = new int[rides.size()];
+        for (int vehicle : order) {
+            if (paired[vehicle]) {
+                continue;
+            }
+            paired[vehicle] = true;
+            int partner = findNearbyVehicle(vehicle, paired, buffer);
+            if (partner >= 0) {
+                paired[partner] = true;
+                pairs[noOfPaired++] = vehicle;
+                pairs[noOfPaired++] = partner;
+            } else {
+                unpartnered[noOfUnpartnered++] = vehicle;
+            }
+        }
+        // Vehicles without a nearby partner go after all the pairs, next to each other, so they are paired at random
+        System.arraycopy(unpartnered, 0, pairs, noOfPaired, noOfUnpartnered);
+        return pairs;
+    }
+
+    /**
+     * Find a vehicle that is not paired yet and has a ride starting near the end of a random ride of a vehicle.
+     */
+    private int findNearbyVehicle(int vehicle, boolean[] paired, int[] buffer) {
+        int length = scorer.getRouteLength(vehicle);
+        if (length == 0) {
+            return -1;
+        }
+        int position = random.nextInt(length);
+        int rid = scorer.getRide(vehicle, position);
+        int x = rides.getDestinationX(rid);
+        int y = rides.getDestinationY(rid);
+        int finish = scorer.getFinishStep(vehicle, position);
+        for (int ring = 0; ring <= 1; ring++) {
+            int found = ridesByPickup.collectRing(x, y, ring, buffer);
+            for (int i = 0; i < found; i++) {
+                int other = rideVehicle[buffer[i]];
+                if (other >= 0 && !paired[other]
+                        && Math.abs(rides.getEarliestStart(buffer[i]) - finish) <= proximity) {
+                    return other;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Apply improving moves between the routes of two vehicles until none is left or the deadline passes.
+     *
+     * @return The improvement in score
+     */
+    private long improvePair(int vehicle, int other, long deadline) {
+        long improvement = 0;
+        long gain;
+        do {
+            gain = relocate(vehicle, other) + relocate(other, vehicle) + swap(vehicle, other)
+                    + exchangeTails(vehicle, other);
+            improvement += gain;
+        } while (gain > 0 && System.nanoTime() < deadline);
+        return improvement;
+    }
+
+    /**
+     * Move rides from the route of one vehicle to the route of another, wherever that raises the score.
+     */
+    private long relocate(int from, int to) {
+        long improvement = 0;
+        for (int i = 0; i < scorer.getRouteLength(from); i++) {
+            int rid = scorer.getRide(from, i);
+            long removal = scorer.removeDelta(from, i);
+            // Even a ride on time cannot make up for a bigger loss
+            if (removal + rides.getDistance(rid) + scorer.getBonus() <= 0) {
+                continue;
+            }
+            int bestPosition = -1;
+            long bestGain = 0;
+            for (int k = 0; k <= scorer.getRouteLength(to); k++) {
+                if (scorer.stepBefore(to, k) > rides.getLatestStart(rid)) {
+                    break;
+                }
+                if (!isNear(to, k, rid)) {
+                    continue;
+                }
+                long gain = removal + scorer.insertDelta(to, k, rid);
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    bestPosition = k;
+                }
+            }
+            if (bestPosition >= 0) {
+                scorer.remove(from, i);
+                scorer.insert(to, bestPosition, rid);
+                rideVehicle[rid] = to;
+                improvement += bestGain;
+                i--;
+            }
+        }
+        return improvement;
+    }
+
+    /**
+     * Swap rides between the routes of two vehicles, wherever that raises the score.
+     */
+    private long swap(int vehicle, int other) {
+        long improvement = 0;
+        for (int i = 0; i < scorer.getRouteLength(vehicle); i++) {
+            for (int j = 0; j < scorer.getRouteLength(other); j++) {
+                int rid = scorer.getRide(vehicle, i);
+                int otherRid = scorer.getRide(other, j);
+                if (!isNear(other, j, rid) || !isNear(vehicle, i, otherRid)) {
+                    continue;
+                }
+                long gain = scorer.replaceDelta(vehicle, i, otherRid) + scorer.replaceDelta(other, j, rid);
+                if (gain > 0) {
+                    scorer.replace(vehicle, i, otherRid);
+                    scorer.replace(other, j, rid);
+                    rideVehicle[rid] = other;
+                    rideVehicle[otherRid] = vehicle;
+                    improvement += gain;
+                }
+            }
+        }
+        return improvement;
+    }
+
+    /**
+     * Exchange the tails of the routes of two vehicles, wherever that raises the score.
+     */
+    private long exchangeTails(int vehicle, int other) {
+        long improvement = 0;
+        for (int i = 0; i <= scorer.getRouteLength(vehicle); i++) {
+            for (int j = 0; j <= scorer.getRouteLength(other); j++) {
+                // Exchanging the whole routes, or two empty tails, changes nothing
+                if ((i == 0 && j == 0)
+                        || (i == scorer.getRouteLength(vehicle) && j == scorer.getRouteLength(other))) {
+                    continue;
+                }
+                if (Math.abs(scorer.stepBefore(vehicle, i) - scorer.stepBefore(other, j)) > proximity) {
+                    continue;
+                }
+                long gain = scorer.tailDelta(vehicle, i, other, j) + scorer.tailDelta(other, j, vehicle, i);
+                if (gain > 0) {
+                    scorer.exchangeTails(vehicle, i, other, j);
+                    for (int k = i; k < scorer.getRouteLength(vehicle); k++) {
+                        rideVehicle[scorer.getRide(vehicle, k)] = vehicle;
+                    }
+                    for (int k = j; k < scorer.getRouteLength(other); k++) {
+                        rideVehicle[scorer.getRide(other, k)] = other;
+                    }
+                    improvement += gain;
+                }
+            }
+        }
+        return improvement;
+    }
+
+    /**
+     * Insert the rides that are not in any route at the position that raises the score the most.
+     * Only the last positions at which a vehicle could still start a ride in time are tried.
+     */
+    private long insertUnassigned(long deadline) {
+        long improvement = 0;
+        for (int rid = 0; rid < rideVehicle.length && System.nanoTime() < deadline; rid++) {
+            if (rideVehicle[rid] >= 0) {
+                continue;
+            }
+            int bestVehicle = -1;
+            int bestPosition = -1;
+            long bestGain = 0;
+            for (int vehicle = 0; vehicle < scorer.size(); vehicle++) {
+                int last = lastPositionBefore(vehicle, rides.getLatestStart(rid));
+                for (int k = Math.max(0, last - 1); k <= last; k++) {
+                    long gain = scorer.insertDelta(vehicle, k, rid);
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestVehicle = vehicle;
+                        bestPosition = k;
+                    }
+                }
+            }
+            if (bestVehicle >= 0) {
+                scorer.insert(bestVehicle, bestPosition, rid);
+                rideVehicle[rid] = bestVehicle;
+                improvement += bestGain;
+            }
+        }
+        return improvement;
+    }
+
+    /**
+     * Return the last position in the route of a vehicle at which the vehicle is free by a step.
+     */
+    private int lastPositionBefore(int vehicle, int step) {
+        int low = 0;
+        int high = scorer.getRouteLength(vehicle);
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (scorer.stepBefore(vehicle, middle) <= step) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Check whether a vehicle that is free before a position in its route can reach the start of a ride
+     * in time, without driving or waiting for more than the proximity.
+     */
+    private boolean isNear(int vehicle, int position, int rid) {
+        int distance = Math.abs(rides.getPickupX(rid) - scorer.xBefore(vehicle, position))
+                + Math.abs(rides.getPickupY(rid) - scorer.yBefore(vehicle, position));
+        int arrival = scorer.stepBefore(vehicle, position) + distance;
+        return distance <= proximity && arrival <= rides.getLatestStart(rid)
+                && rides.getEarliestStart(rid) - arrival <= proximity;
+    }
+
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
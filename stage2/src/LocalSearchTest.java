@@ -0,0 +1,100 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class LocalSearchTest {
+
+    private RideTable rides;
+    private RouteScorer scorer;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // The example of the problem statement, with every ride given to the first vehicle
+        rides = new RideTable(3);
+        rides.add(0, 0, 1, 3, 2, 9);
+        rides.add(1, 2, 1, 0, 0, 9);
+        rides.add(2, 0, 2, 2, 0, 9);
+        scorer = new RouteScorer(rides, 2, 10, 2);
+        scorer.setRoute(0, new int[] {0, 2, 1}, 3);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that the rides that are late are moved to the idle vehicle, as in the solution of the example
+     */
+    @Test
+    public void testRun() {
+        assertEquals(6, scorer.getTotalScore());
+        LocalSearch search = new LocalSearch(scorer, rides, 3, 4, 10);
+        assertEquals(4, search.run(System.nanoTime() + 1_000_000_000L));
+        assertEquals(10, scorer.getTotalScore());
+        assertEquals(3, scorer.getRouteLength(0) + scorer.getRouteLength(1));
+    }
+
+    /**
+     * Test that a ride that is not in any route is inserted
+     */
+    @Test
+    public void testInsertUnassigned() {
+        scorer.setRoute(0, new int[] {0}, 1);
+        LocalSearch search = new LocalSearch(scorer, rides, 3, 4, 10);
+        search.run(System.nanoTime() + 1_000_000_000L);
+        assertEquals(10, scorer.getTotalScore());
+    }
+
+    /**
+     * Test that rides taken out by a perturbation are put back by the next run, and that restore goes back
+     */
+    @Test
+    public void testPerturbAndRestore() {
+        LocalSearch search = new LocalSearch(scorer, rides, 3, 4, 10);
+        int[][] before = search.snapshot();
+        search.perturb(2);
+        assertEquals(1, search.countAssigned());
+        assertTrue(scorer.getTotalScore() <= 6);
+        search.restore(before);
+        assertEquals(3, search.countAssigned());
+        assertEquals(6, scorer.getTotalScore());
+        search.perturb(5);
+        assertEquals(0, search.countAssigned());
+        search.run(System.nanoTime() + 1_000_000_000L);
+        assertEquals(3, search.countAssigned());
+    }
+
+    /**
+     * Test that vehicles with nearby rides are paired from an even position, whatever vehicles without a partner
+     * come before them in the shuffled order
+     */
+    @Test
+    public void testNearbyVehiclesPairedAtEvenPositions() {
+        // The ride of vehicle 0 finishes where the ride of vehicle 1 starts, and the other way round
+        rides = new RideTable(2);
+        rides.add(0, 0, 10, 10, 0, 50);
+        rides.add(10, 10, 0, 0, 20, 50);
+        scorer = new RouteScorer(rides, 2, 100, 6);
+        scorer.setRoute(0, new int[] {0}, 1);
+        scorer.setRoute(1, new int[] {1}, 1);
+        LocalSearch search = new LocalSearch(scorer, rides, 100, 100, 100);
+        for (int run = 0; run < 20; run++) {
+            int[] pairs = search.pairVehicles();
+            assertEquals(6, pairs.length);
+            assertEquals(1, pairs[0] + pairs[1]);
+            assertEquals(0, pairs[0] * pairs[1]);
+        }
+    }
+}
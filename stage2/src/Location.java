@@ -1,10 +1,11 @@
 /**
  * Model a location in a city.
+ * A location is packed into a long, with y in the high 32 bits and x in the low 32 bits, so that rides and vehicles
+ * can keep their locations as primitives and only create a Location as a view when one is asked for.
  */
 public class Location
 {
-    private int x;
-    private int y;
+    private final long packed;
 
     /**
      * Model a location in the city.
@@ -13,6 +14,33 @@ public class Location
      * @throws IllegalArgumentException If a coordinate is negative.
      */
     public Location(int x, int y)
+    {
+        this(pack(x, y));
+    }
+
+    private Location(long packed)
+    {
+        this.packed = packed;
+    }
+
+    /**
+     * View a packed location as a Location.
+     * @param packed The packed location, as returned by pack.
+     * @return The location.
+     */
+    public static Location of(long packed)
+    {
+        return new Location(packed);
+    }
+
+    /**
+     * Pack the coordinates of a location into a long.
+     * @param x The x coordinate. Must be positive.
+     * @param y The y coordinate. Must be positive.
+     * @return The packed location.
+     * @throws IllegalArgumentException If a coordinate is negative.
+     */
+    public static long pack(int x, int y)
     {
         if(x < 0) {
             throw new IllegalArgumentException("Negative x-coordinate: " + x);
@@ -22,8 +50,42 @@ public class Location
             throw new IllegalArgumentException("Negative y-coordinate: " + y);
         }
 
-        this.x = x;
-        this.y = y;
+        return ((long) y << 32) | x;
+    }
+
+    /**
+     * @param packed A packed location.
+     * @return The x coordinate of the packed location.
+     */
+    public static int xOf(long packed)
+    {
+        return (int) packed;
+    }
+
+    /**
+     * @param packed A packed location.
+     * @return The y coordinate of the packed location.
+     */
+    public static int yOf(long packed)
+    {
+        return (int) (packed >>> 32);
+    }
+
+    /**
+     * Determine the number of movements required to get from one packed location to another.
+     * The absolute values are taken with the sign mask rather than a branch, as the distance is
+     * computed for every vehicle and ride that are compared.
+     * @param from The packed location to start from.
+     * @param to The packed location to go to.
+     * @return The number of movement steps.
+     */
+    public static int manhattan(long from, long to)
+    {
+        int dx = (int) to - (int) from;
+        int dy = (int) (to >>> 32) - (int) (from >>> 32);
+        int signX = dx >> 31;
+        int signY = dy >> 31;
+        return (dx ^ signX) - signX + (dy ^ signY) - signY;
     }
 
     /**
@@ -33,7 +95,7 @@ public class Location
      */
     public int distanceTo(Location destination)
     {
-        return Math.abs(destination.getX() - x) + Math.abs(destination.getY() - y);
+        return manhattan(packed, destination.packed);
     }
 
     /**
@@ -44,8 +106,7 @@ public class Location
     public boolean equals(Object other)
     {
         if(other instanceof Location) {
-            Location otherLocation = (Location) other;
-            return x == otherLocation.getX() && y == otherLocation.getY();
+            return packed == ((Location) other).packed;
         }
         else {
             return false;
@@ -58,20 +119,17 @@ public class Location
      */
     public String toString()
     {
-        return "[" + x + "," + y + "]" ;
+        return "[" + getX() + "," + getY() + "]" ;
     }
 
     /**
-     * Use the top 16 bits for the y value and the bottom for the x.
-     * Except for very big grids, this should give a unique hash code
-     * for each (x, y) pair.
-     *
-     * Shifts binary y by 16 times to the left, then add x
+     * Multiply the packed location by the golden ratio and keep the top 32 bits, so that every bit of
+     * both coordinates counts, whatever the size of the grid.
      * @return A hashcode for the location.
      */
     public int hashCode()
     {
-        return (y << 16) + x;
+        return (int) ((packed * 0x9E3779B97F4A7C15L) >>> 32);
     }
 
     /**
@@ -80,7 +138,7 @@ public class Location
      */
     public int getX()
     {
-        return x;
+        return xOf(packed);
     }
 
     /**
@@ -89,6 +147,15 @@ public class Location
      */
     public int getY()
     {
-        return y;
+        return yOf(packed);
+    }
+
+    /**
+     * Return the location packed into a long.
+     * @return The packed location.
+     */
+    public long getPacked()
+    {
+        return packed;
     }
 }
\ No newline at end of file
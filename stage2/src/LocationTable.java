@@ -0,0 +1,143 @@
+import java.util.Arrays;
+
+/**
+ * Model the distinct locations of the world, each interned once and given an ID.
+ * Rides that share a pickup or a destination intersection share its location ID, so anything worked out for a
+ * location, such as the cell of a grid it falls in, is worked out once for all of them.
+ * Locations are found by their packed coordinates in an open-addressing hash map of primitive values.
+ */
+public class LocationTable
+{
+    // Marks an empty slot of the map, no packed location is negative
+    private static final long EMPTY = -1L;
+
+    // The packed location in each slot of the map
+    private long[] keys;
+    // The location ID in each slot of the map
+    private int[] values;
+    // Number of bits of the map capacity, which is a power of two
+    private int bits;
+    // The x coordinate of each location
+    private int[] x;
+    // The y coordinate of each location
+    private int[] y;
+    // Number of locations in the table
+    private int size;
+
+    /**
+     * Constructor of LocationTable
+     *
+     * @param capacity The number of locations the table is expected to hold
+     */
+    public LocationTable(int capacity) {
+        capacity = Math.max(1, capacity);
+        // Keep the map at most half full
+        bits = 32 - Integer.numberOfLeadingZeros(2 * capacity - 1);
+        keys = new long[1 << bits];
+        Arrays.fill(keys, EMPTY);
+        values = new int[1 << bits];
+        x = new int[capacity];
+        y = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * Return the ID of a location, adding it to the table if it is not there yet.
+     * IDs are given in the order the locations are first seen, from 0.
+     *
+     * @param x The x coordinate. Must be positive.
+     * @param y The y coordinate. Must be positive.
+     * @return The ID of the location
+     * @throws IllegalArgumentException If a coordinate is negative.
+     */
+    public int intern(int x, int y) {
+        long packed = Location.pack(x, y);
+        int slot = slotOf(packed);
+        if (keys[slot] != EMPTY) {
+            return values[slot];
+        }
+        if (size == this.x.length) {
+            this.x = Arrays.copyOf(this.x, size * 2);
+            this.y = Arrays.copyOf(this.y, size * 2);
+        }
+        int id = size++;
+        this.x[id] = x;
+        this.y[id] = y;
+        keys[slot] = packed;
+        values[slot] = id;
+        if (2 * size > keys.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @return The ID of the location, or -1 if it is not in the table
+     */
+    public int indexOf(int x, int y) {
+        if (x < 0 || y < 0) {
+            return -1;
+        }
+        int slot = slotOf(Location.pack(x, y));
+        return keys[slot] == EMPTY ? -1 : values[slot];
+    }
+
+    /**
+     * Work out the cell of a grid that each location falls in.
+     *
+     * @param grid The grid
+     * @return The cell of each location, indexed by location ID
+     */
+    public int[] cellsIn(RideGrid grid) {
+        int[] cells = new int[size];
+        for (int id = 0; id < size; id++) {
+            cells[id] = grid.cellAt(x[id], y[id]);
+        }
+        return cells;
+    }
+
+    // Getters for each column
+    public int size() {
+        return size;
+    }
+
+    public int getX(int id) {
+        return x[id];
+    }
+
+    public int getY(int id) {
+        return y[id];
+    }
+
+    // Private methods
+
+    /**
+     * Find the slot of a packed location, or the empty slot where it would go, by linear probing from its hash.
+     */
+    private int slotOf(long packed) {
+        int mask = keys.length - 1;
+        int slot = (int) ((packed * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+        while (keys[slot] != EMPTY && keys[slot] != packed) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        bits++;
+        keys = new long[1 << bits];
+        Arrays.fill(keys, EMPTY);
+        values = new int[1 << bits];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class LocationTableTest {
+
+    private LocationTable locations;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // Start small so that the map is rehashed
+        locations = new LocationTable(1);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that the same coordinates always get the same ID, and IDs are given in order
+     */
+    @Test
+    public void testIntern() {
+        assertEquals(0, locations.intern(3, 4));
+        assertEquals(1, locations.intern(4, 3));
+        assertEquals(0, locations.intern(3, 4));
+        // The old Location hash code was the same for these two
+        assertEquals(2, locations.intern(65536, 0));
+        assertEquals(3, locations.intern(0, 1));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(4 + i, locations.intern(i, 1000 + i));
+        }
+        assertEquals(1004, locations.size());
+        assertEquals(1, locations.intern(4, 3));
+        assertEquals(1004, locations.size());
+        assertEquals(65536, locations.getX(2));
+        assertEquals(1000 + 500, locations.getY(4 + 500));
+    }
+
+    @Test
+    public void testIndexOf() {
+        locations.intern(3, 4);
+        assertEquals(0, locations.indexOf(3, 4));
+        assertEquals(-1, locations.indexOf(4, 3));
+        assertEquals(-1, locations.indexOf(-1, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInternNegative() {
+        locations.intern(-1, 0);
+    }
+
+    /**
+     * Test that rides sharing an intersection share its location, and its cell is the one the grid gives
+     */
+    @Test
+    public void testRideLocations() {
+        RideTable rides = new RideTable(3);
+        rides.add(0, 0, 5, 5, 0, 20);
+        rides.add(5, 5, 0, 0, 0, 20);
+        rides.add(30, 10, 5, 5, 0, 20);
+        assertEquals(3, rides.getLocations().size());
+        assertEquals(rides.getDestinationLocation(0), rides.getPickupLocation(1));
+        assertEquals(rides.getDestinationLocation(0), rides.getDestinationLocation(2));
+        RideGrid grid = new RideGrid(100, 100, 50);
+        int[] cells = rides.getLocations().cellsIn(grid);
+        assertEquals(grid.cellAt(30, 10), cells[rides.getPickupLocation(2)]);
+        assertEquals(cells[rides.getPickupLocation(0)], cells[rides.getPickupLocation(1)]);
+    }
+}
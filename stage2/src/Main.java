@@ -1,10 +1,85 @@
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.ParameterException;
+
+import java.io.IOException;
+import java.util.Arrays;
+
 public class Main
 {
     public static void main(String[] args) {
-        String worldAndRidesFileName = args[0];
-        World world = new World(worldAndRidesFileName);
+        long start = System.nanoTime();
+        CommandLineOptions options = new CommandLineOptions();
+        JCommander commander = JCommander.newBuilder().addObject(options).programName("Main").build();
+        try {
+            commander.parse(args);
+        } catch (ParameterException e) {
+            System.err.println(e.getMessage());
+            commander.usage();
+            System.exit(1);
+        }
+        if (options.isHelp() || options.getInput() == null) {
+            commander.usage();
+            System.exit(options.isHelp() ? 0 : 1);
+        }
+        World world = new World(options.getInput());
         world.initialise();
-        world.solve();
-        world.printSolution();
+        if (options.getResume() != null) {
+            try {
+                world.loadSolution(options.getResume());
+            } catch (IOException e) {
+                System.err.println("A problem was encountered reading the allocation: " + e.getMessage());
+                System.exit(1);
+            }
+        } else {
+            solve(world, options.getSolver());
+            if (options.isStats()) {
+                world.getStats().printSummary(System.err);
+            }
+        }
+        Checkpoint checkpoint = options.getCheckpoint() == null ? null : new Checkpoint(options.getCheckpoint());
+        // The time limit counts from the start, so reading and solving take from the time left for improving
+        long timeLeft = options.getTimeLimit() * 1000L - (System.nanoTime() - start) / 1_000_000L;
+        if (timeLeft > 0) {
+            world.improve(timeLeft, checkpoint);
+        } else if (checkpoint != null) {
+            try {
+                checkpoint.save(world);
+            } catch (IOException e) {
+                System.err.println("A problem was encountered writing the checkpoint: " + e.getMessage());
+            }
+        }
+        if (options.getOutput() == null) {
+            world.printSolution();
+            return;
+        }
+        try {
+            world.writeSolution(options.getOutput());
+        } catch (IOException e) {
+            System.err.println("A problem was encountered writing the solution: " + e.getMessage());
+            System.exit(1);
+        }
     }
-}
\ No newline at end of file
+
+    private static void solve(World world, CommandLineOptions.Solver solver) {
+        switch (solver) {
+            case EVENT:
+                world.solveEventDriven();
+                break;
+            case BATCH:
+                world.solveBatch();
+                break;
+            case CONCURRENT:
+                world.solveConcurrent();
+                break;
+            case PORTFOLIO:
+                world.solvePortfolio(Arrays.asList(RidePolicy.SHORTEST_RIDE, RidePolicy.LEAST_EMPTY_TRAVEL,
+                        RidePolicy.BONUS_FIRST, RidePolicy.LEAST_WAITING, new WeightedPolicy(1, 1, 1, 1)));
+                break;
+            case CHAIN:
+                world.solveChainCover();
+                break;
+            default:
+                world.solve();
+        }
+    }
+}
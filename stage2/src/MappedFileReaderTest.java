@@ -0,0 +1,106 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+public class MappedFileReaderTest {
+
+    private Path file;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = Files.createTempFile("world", ".in");
+        Files.write(file, "3 4 2 3 2 10\r\n0 0 1 3 2 9\n\n1 2 -1 0 0 9\n".getBytes());
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testNextInt() throws Exception {
+        try (MappedFileReader reader = new MappedFileReader(file.toString())) {
+            int sum = 0;
+            for (int i = 0; i < 18; i++) {
+                sum += reader.nextInt();
+            }
+            assertEquals(50, sum);
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void testNextIntAtEndOfFile() throws Exception {
+        try (MappedFileReader reader = new MappedFileReader(file.toString())) {
+            for (int i = 0; i < 19; i++) {
+                reader.nextInt();
+            }
+        }
+    }
+
+    /**
+     * Test that lines are read one by one, skipping blank lines
+     */
+    @Test
+    public void testNextLine() throws Exception {
+        try (MappedFileReader reader = new MappedFileReader(file.toString())) {
+            assertEquals(6, reader.nextLine());
+            assertEquals(10, reader.getLine()[5]);
+            assertEquals(6, reader.nextLine());
+            assertEquals(6, reader.nextLine());
+            assertEquals(-1, reader.getLine()[2]);
+            assertEquals(-1, reader.nextLine());
+        }
+    }
+
+    @Test
+    public void testParseWorld() {
+        int[] world = new InputReader().parseWorld(file.toString());
+        // The header declares 3 rides but the file only has 2
+        assertEquals(InputReader.HEADER_LENGTH + 2 * InputReader.RIDE_LENGTH, world.length);
+        assertEquals(9, world[world.length - 1]);
+    }
+
+    /**
+     * Test that a number too large for an int is rejected rather than wrapped, while the smallest int is read
+     */
+    @Test
+    public void testNextIntOutOfRange() throws Exception {
+        Files.write(file, "2147483647 -2147483648 2147483648\n".getBytes());
+        try (MappedFileReader reader = new MappedFileReader(file.toString())) {
+            assertEquals(Integer.MAX_VALUE, reader.nextInt());
+            assertEquals(Integer.MIN_VALUE, reader.nextInt());
+            reader.nextInt();
+            fail("2147483648 does not fit in an int");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("out of range"));
+        }
+    }
+
+    /**
+     * Test that a world whose header declares a negative or impossibly large number of rides is not read
+     */
+    @Test
+    public void testParseWorldBadHeader() throws Exception {
+        Files.write(file, "3 4 2 -1 2 10\n0 0 1 3 2 9\n".getBytes());
+        assertEquals(0, new InputReader().parseWorld(file.toString()).length);
+        Files.write(file, "3 4 2 2000000000 2 10\n0 0 1 3 2 9\n".getBytes());
+        assertEquals(0, new InputReader().parseWorld(file.toString()).length);
+    }
+}
@@ -0,0 +1,252 @@
+import java.util.Arrays;
+
+/**
+ * Match vehicles to rides so that as many vehicles as possible get a ride, at the lowest total cost.
+ * Each vehicle only has edges to a few candidate rides, so the edges are kept as sparse lists and the matching is
+ * found with successive shortest paths: each round runs Dijkstra's algorithm from every unmatched vehicle, with node
+ * potentials that keep the reduced costs non-negative, and augments along the shortest path to an unmatched ride.
+ * This finds the same matching as the Hungarian algorithm, in time that depends on the number of edges.
+ *
+ * A matching is built by adding the vehicles one at a time, each followed by its edges, then calling solve.
+ * The same object can be cleared and reused, so no memory is allocated once the buffers are large enough.
+ */
+public class MinCostMatching
+{
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+
+    // The ID of each vehicle added
+    private int[] vehicles;
+    // The position in the edge lists of the first edge of each vehicle, and of the end of the edges
+    private int[] firstEdge;
+    // Number of vehicles added
+    private int noOfVehicles;
+    // The ride of each edge, as the position of the ride in rideIds
+    private int[] edgeRide;
+    // The cost of each edge
+    private long[] edgeCost;
+    // Number of edges added
+    private int noOfEdges;
+    // The position in rideIds of each ride ID, or -1 if the ride has no edge
+    private int[] rideSlot;
+    // The ID of each ride with an edge
+    private int[] rideIds;
+    // Number of rides with an edge
+    private int noOfRides;
+
+    // The ride matched to each vehicle, and the vehicle matched to each ride, or -1
+    private int[] vehicleMatch;
+    private int[] rideMatch;
+    // Node potentials, and shortest distances, of the vehicles and the rides
+    private long[] vehiclePotential;
+    private long[] ridePotential;
+    private long[] vehicleDistance;
+    private long[] rideDistance;
+    // The vehicle before each ride on the shortest path to it
+    private int[] rideParent;
+    private boolean[] rideDone;
+    private NodeHeap heap;
+
+    /**
+     * Constructor of MinCostMatching
+     *
+     * @param noOfRideIds Number of ride IDs, all IDs given to addEdge must be less than this
+     */
+    public MinCostMatching(int noOfRideIds) {
+        rideSlot = new int[noOfRideIds];
+        Arrays.fill(rideSlot, -1);
+        rideIds = new int[16];
+        vehicles = new int[16];
+        firstEdge = new int[17];
+        edgeRide = new int[64];
+        edgeCost = new long[64];
+        vehicleMatch = new int[0];
+        vehiclePotential = new long[0];
+        vehicleDistance = new long[0];
+        rideMatch = new int[0];
+        ridePotential = new long[0];
+        rideDistance = new long[0];
+        rideParent = new int[0];
+        rideDone = new boolean[0];
+        heap = new NodeHeap();
+    }
+
+    /**
+     * Remove all vehicles and edges.
+     */
+    public void clear() {
+        for (int i = 0; i < noOfRides; i++) {
+            rideSlot[rideIds[i]] = -1;
+        }
+        noOfVehicles = 0;
+        noOfEdges = 0;
+        noOfRides = 0;
+    }
+
+    /**
+     * Add a vehicle. The edges added after it, until the next vehicle, are the edges of this vehicle.
+     *
+     * @param vehicle The ID of the vehicle
+     */
+    public void addVehicle(int vehicle) {
+        if (noOfVehicles == vehicles.length) {
+            vehicles = Arrays.copyOf(vehicles, vehicles.length * 2);
+            firstEdge = Arrays.copyOf(firstEdge, vehicles.length + 1);
+        }
+        vehicles[noOfVehicles] = vehicle;
+        firstEdge[noOfVehicles] = noOfEdges;
+        noOfVehicles++;
+        firstEdge[noOfVehicles] = noOfEdges;
+    }
+
+    /**
+     * Add an edge from the last vehicle added to a ride.
+     *
+     * @param rid The ID of the ride
+     * @param cost The cost of matching the vehicle to the ride, not negative
+     */
+    public void addEdge(int rid, long cost) {
+        if (rideSlot[rid] < 0) {
+            if (noOfRides == rideIds.length) {
+                rideIds = Arrays.copyOf(rideIds, rideIds.length * 2);
+            }
+            rideSlot[rid] = noOfRides;
+            rideIds[noOfRides++] = rid;
+        }
+        if (noOfEdges == edgeRide.length) {
+            edgeRide = Arrays.copyOf(edgeRide, edgeRide.length * 2);
+            edgeCost = Arrays.copyOf(edgeCost, edgeCost.length * 2);
+        }
+        edgeRide[noOfEdges] = rideSlot[rid];
+        edgeCost[noOfEdges] = cost;
+        noOfEdges++;
+        firstEdge[noOfVehicles] = noOfEdges;
+    }
+
+    /**
+     * Find the matching with the most vehicles and, among those, the lowest total cost.
+     */
+    public void solve() {
+        prepare();
+        for (int matched = 0; matched < Math.min(noOfVehicles, noOfRides); matched++) {
+            int ride = shortestPath();
+            if (ride < 0) {
+                break;
+            }
+            // Flip the edges along the path, from the ride back to the unmatched vehicle it started from
+            while (ride >= 0) {
+                int vehicle = rideParent[ride];
+                int previous = vehicleMatch[vehicle];
+                vehicleMatch[vehicle] = ride;
+                rideMatch[ride] = vehicle;
+                ride = previous;
+            }
+        }
+    }
+
+    // Getters for the matching
+    public int getNoOfVehicles() {
+        return noOfVehicles;
+    }
+
+    /**
+     * @param index The position of the vehicle, in the order the vehicles were added
+     * @return The ID of the vehicle
+     */
+    public int getVehicle(int index) {
+        return vehicles[index];
+    }
+
+    /**
+     * @param index The position of the vehicle, in the order the vehicles were added
+     * @return The ID of the ride matched to the vehicle, or -1 if it has none
+     */
+    public int getMatch(int index) {
+        return vehicleMatch[index] < 0 ? -1 : rideIds[vehicleMatch[index]];
+    }
+
+    // Private methods
+    private void prepare() {
+        if (vehicleMatch.length < noOfVehicles) {
+            int capacity = Math.max(noOfVehicles, vehicleMatch.length * 2);
+            vehicleMatch = new int[capacity];
+            vehiclePotential = new long[capacity];
+            vehicleDistance = new long[capacity];
+        }
+        if (rideMatch.length < noOfRides) {
+            int capacity = Math.max(noOfRides, rideMatch.length * 2);
+            rideMatch = new int[capacity];
+            ridePotential = new long[capacity];
+            rideDistance = new long[capacity];
+            rideParent = new int[capacity];
+            rideDone = new boolean[capacity];
+        }
+        Arrays.fill(vehicleMatch, 0, noOfVehicles, -1);
+        Arrays.fill(vehiclePotential, 0, noOfVehicles, 0);
+        Arrays.fill(rideMatch, 0, noOfRides, -1);
+        Arrays.fill(ridePotential, 0, noOfRides, 0);
+    }
+
+    /**
+     * Run Dijkstra's algorithm from every unmatched vehicle, then update the potentials.
+     *
+     * @return The nearest unmatched ride, or -1 if no unmatched ride can be reached
+     */
+    private int shortestPath() {
+        Arrays.fill(vehicleDistance, 0, noOfVehicles, INFINITY);
+        Arrays.fill(rideDistance, 0, noOfRides, INFINITY);
+        Arrays.fill(rideDone, 0, noOfRides, false);
+        heap.clear();
+        for (int vehicle = 0; vehicle < noOfVehicles; vehicle++) {
+            if (vehicleMatch[vehicle] < 0) {
+                vehicleDistance[vehicle] = 0;
+                relax(vehicle);
+            }
+        }
+        int target = -1;
+        long targetDistance = INFINITY;
+        while (!heap.isEmpty()) {
+            long distance = heap.peekKey();
+            int ride = heap.poll();
+            if (rideDone[ride] || distance > rideDistance[ride]) {
+                continue;
+            }
+            rideDone[ride] = true;
+            if (rideMatch[ride] < 0) {
+                target = ride;
+                targetDistance = distance;
+                break;
+            }
+            // A matched edge has a reduced cost of 0, so its vehicle is as far as the ride
+            int vehicle = rideMatch[ride];
+            vehicleDistance[vehicle] = distance;
+            relax(vehicle);
+        }
+        if (target < 0) {
+            return -1;
+        }
+        // Nodes further than the target keep the reduced costs non-negative by moving as far as the target
+        for (int vehicle = 0; vehicle < noOfVehicles; vehicle++) {
+            vehiclePotential[vehicle] += Math.min(vehicleDistance[vehicle], targetDistance);
+        }
+        for (int ride = 0; ride < noOfRides; ride++) {
+            ridePotential[ride] += Math.min(rideDistance[ride], targetDistance);
+        }
+        return target;
+    }
+
+    private void relax(int vehicle) {
+        long distance = vehicleDistance[vehicle];
+        for (int edge = firstEdge[vehicle]; edge < firstEdge[vehicle + 1]; edge++) {
+            int ride = edgeRide[edge];
+            if (ride == vehicleMatch[vehicle] || rideDone[ride]) {
+                continue;
+            }
+            long reduced = edgeCost[edge] + vehiclePotential[vehicle] - ridePotential[ride];
+            if (distance + reduced < rideDistance[ride]) {
+                rideDistance[ride] = distance + reduced;
+                rideParent[ride] = vehicle;
+                heap.add(rideDistance[ride], ride);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MinCostMatchingTest {
+
+    private MinCostMatching matching;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        matching = new MinCostMatching(10);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that a vehicle gives up its cheapest ride so that another vehicle can have a ride too
+     */
+    @Test
+    public void testMostVehiclesMatched() {
+        matching.addVehicle(3);
+        matching.addEdge(7, 1);
+        matching.addEdge(8, 2);
+        matching.addVehicle(5);
+        matching.addEdge(7, 1);
+        matching.solve();
+        assertEquals(2, matching.getNoOfVehicles());
+        assertEquals(3, matching.getVehicle(0));
+        assertEquals(8, matching.getMatch(0));
+        assertEquals(7, matching.getMatch(1));
+    }
+
+    /**
+     * Test that the matching with the lowest total cost is found, not the one with the cheapest edge
+     */
+    @Test
+    public void testLowestCost() {
+        matching.addVehicle(0);
+        matching.addEdge(0, 4);
+        matching.addEdge(1, 1);
+        matching.addVehicle(1);
+        matching.addEdge(0, 2);
+        matching.addEdge(1, 0);
+        matching.solve();
+        assertEquals(1, matching.getMatch(0));
+        assertEquals(0, matching.getMatch(1));
+    }
+
+    /**
+     * Test that a vehicle without a ride left is not matched, and that the matching can be reused
+     */
+    @Test
+    public void testClear() {
+        matching.addVehicle(0);
+        matching.addEdge(2, 1);
+        matching.addVehicle(1);
+        matching.addEdge(2, 3);
+        matching.solve();
+        assertEquals(2, matching.getMatch(0));
+        assertEquals(-1, matching.getMatch(1));
+        matching.clear();
+        matching.addVehicle(1);
+        matching.addEdge(4, 3);
+        matching.solve();
+        assertEquals(1, matching.getNoOfVehicles());
+        assertEquals(4, matching.getMatch(0));
+    }
+}
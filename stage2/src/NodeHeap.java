@@ -0,0 +1,87 @@
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of nodes keyed by distance, for Dijkstra's algorithm. A node whose distance goes down is added
+ * again, and the stale entry is skipped when it is polled.
+ */
+public class NodeHeap
+{
+    // The distance of each entry, in heap order
+    private long[] keys = new long[64];
+    // The node of each entry, in the same order as keys
+    private int[] nodes = new int[64];
+    // Number of entries in the heap
+    private int size;
+
+    /**
+     * Remove every entry, keeping the arrays for the next search.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The smallest distance in the heap, without removing its entry
+     */
+    public long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Add an entry for a node. A node already in the heap is not replaced, so its older entry must be skipped when
+     * it is polled.
+     *
+     * @param key The distance of the node
+     * @param node The node
+     */
+    public void add(long key, int node) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            nodes = Arrays.copyOf(nodes, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            nodes[i] = nodes[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        nodes[i] = node;
+    }
+
+    /**
+     * Remove the entry with the smallest distance.
+     *
+     * @return The node of the entry
+     */
+    public int poll() {
+        int top = nodes[0];
+        size--;
+        long key = keys[size];
+        int node = nodes[size];
+        int i = 0;
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            keys[i] = keys[child];
+            nodes[i] = nodes[child];
+            i = child;
+        }
+        keys[i] = key;
+        nodes[i] = node;
+        return top;
+    }
+}
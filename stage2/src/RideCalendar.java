@@ -0,0 +1,134 @@
+/**
+ * Model the time windows of the rides as two calendars, one ordered by earliest start and one ordered by latest start.
+ * As the simulation moves forward, rides are released into the pending rides once they can be started,
+ * and expired from the pending rides once they can no longer be started in time.
+ * Each calendar is built with a counting sort on the step, so each ride is only touched once when it is
+ * released and once when it expires.
+ */
+public class RideCalendar
+{
+    // All the rides
+    private RideTable rides;
+    // Ride IDs ordered by earliest start
+    private int[] releaseOrder;
+    // Earliest start of the rides, in the same order as releaseOrder
+    private int[] releaseSteps;
+    // Ride IDs ordered by latest start
+    private int[] expiryOrder;
+    // Latest start of the rides, in the same order as expiryOrder
+    private int[] expirySteps;
+    // Position of the next ride to be released
+    private int nextRelease;
+    // Position of the next ride to expire
+    private int nextExpiry;
+
+    /**
+     * Constructor of RideCalendar
+     *
+     * @param rides All the rides
+     * @param noOfSteps Number of steps in the simulation
+     */
+    public RideCalendar(RideTable rides, int noOfSteps) {
+        this.rides = rides;
+        int[] earliestStarts = new int[rides.size()];
+        int[] latestStarts = new int[rides.size()];
+        for (int rid = 0; rid < rides.size(); rid++) {
+            earliestStarts[rid] = rides.getEarliestStart(rid);
+            latestStarts[rid] = rides.getLatestStart(rid);
+        }
+        releaseOrder = sortBySteps(earliestStarts, noOfSteps);
+        releaseSteps = stepsInOrder(earliestStarts, releaseOrder);
+        expiryOrder = sortBySteps(latestStarts, noOfSteps);
+        expirySteps = stepsInOrder(latestStarts, expiryOrder);
+        nextRelease = 0;
+        nextExpiry = 0;
+    }
+
+    /**
+     * Add every ride that can be started at or before this step to the pending rides.
+     *
+     * @param currentStep The current step of the simulation
+     * @param pendingRides The pending rides
+     */
+    public void releaseUntil(int currentStep, RideGrid pendingRides) {
+        while (nextRelease < releaseOrder.length && releaseSteps[nextRelease] <= currentStep) {
+            int rid = releaseOrder[nextRelease];
+            // Rides that have already expired are never released
+            if (rides.getLatestStart(rid) >= currentStep) {
+                pendingRides.add(rid, rides.getPickupX(rid), rides.getPickupY(rid));
+            }
+            nextRelease++;
+        }
+    }
+
+    /**
+     * Remove every ride that can no longer be started in time at this step from the pending rides.
+     *
+     * @param currentStep The current step of the simulation
+     * @param pendingRides The pending rides
+     * @return The number of rides removed
+     */
+    public int expireBefore(int currentStep, RideGrid pendingRides) {
+        int pending = pendingRides.size();
+        while (nextExpiry < expiryOrder.length && expirySteps[nextExpiry] < currentStep) {
+            // Rides that have been assigned are no longer in the pending rides, so this does nothing for them
+            pendingRides.remove(expiryOrder[nextExpiry]);
+            nextExpiry++;
+        }
+        return pending - pendingRides.size();
+    }
+
+    /**
+     * @return true if some rides have not been released yet, false otherwise
+     */
+    public boolean hasUnreleasedRides() {
+        return nextRelease < releaseOrder.length;
+    }
+
+    /**
+     * @return The number of rides released so far, which are the first rides of the release order
+     */
+    public int getReleased() {
+        return nextRelease;
+    }
+
+    /**
+     * @return The IDs of all the rides, ordered by earliest start
+     */
+    public int[] getReleaseOrder() {
+        return releaseOrder;
+    }
+
+    // Private methods
+    /**
+     * Sort ride IDs by a step with a counting sort, with one bucket per step of the simulation.
+     * Steps before the start or after the end of the simulation go in the first or last bucket,
+     * where they are never compared with a step inside the simulation.
+     */
+    private static int[] sortBySteps(int[] steps, int noOfSteps) {
+        int[] bucketStart = new int[noOfSteps + 3];
+        for (int step : steps) {
+            bucketStart[bucket(step, noOfSteps) + 1]++;
+        }
+        for (int i = 1; i < bucketStart.length; i++) {
+            bucketStart[i] += bucketStart[i - 1];
+        }
+        int[] order = new int[steps.length];
+        for (int rid = 0; rid < steps.length; rid++) {
+            order[bucketStart[bucket(steps[rid], noOfSteps)]++] = rid;
+        }
+        return order;
+    }
+
+    private static int bucket(int step, int noOfSteps) {
+        return Math.min(noOfSteps + 1, Math.max(0, step + 1));
+    }
+
+    private static int[] stepsInOrder(int[] steps, int[] order) {
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = steps[order[i]];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class RideCalendarTest {
+
+    private RideTable rides;
+    private RideCalendar calendar;
+    private RideGrid pendingRides;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        rides = new RideTable(3);
+        // Latest start 5
+        rides.add(0, 0, 1, 3, 2, 9);
+        // Latest start 0
+        rides.add(1, 2, 1, 0, 0, 2);
+        // Latest start 6
+        rides.add(2, 0, 2, 2, 4, 8);
+        calendar = new RideCalendar(rides, 10);
+        pendingRides = new RideGrid(3, 4, rides.size());
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    @Test
+    public void testReleaseOrder() {
+        assertArrayEquals(new int[]{1, 0, 2}, calendar.getReleaseOrder());
+    }
+
+    @Test
+    public void testReleaseUntil() {
+        calendar.releaseUntil(0, pendingRides);
+        assertTrue(pendingRides.contains(1));
+        assertFalse(pendingRides.contains(0));
+        calendar.releaseUntil(2, pendingRides);
+        assertTrue(pendingRides.contains(0));
+        assertFalse(pendingRides.contains(2));
+        assertTrue(calendar.hasUnreleasedRides());
+        calendar.releaseUntil(4, pendingRides);
+        assertTrue(pendingRides.contains(2));
+        assertFalse(calendar.hasUnreleasedRides());
+    }
+
+    /**
+     * Test that rides that have expired before they are released are never pending
+     */
+    @Test
+    public void testExpiredRideNotReleased() {
+        calendar.releaseUntil(1, pendingRides);
+        assertFalse(pendingRides.contains(1));
+    }
+
+    @Test
+    public void testExpireBefore() {
+        calendar.releaseUntil(4, pendingRides);
+        calendar.expireBefore(6, pendingRides);
+        assertFalse(pendingRides.contains(0));
+        assertTrue(pendingRides.contains(2));
+        calendar.expireBefore(7, pendingRides);
+        assertTrue(pendingRides.isEmpty());
+    }
+}
@@ -0,0 +1,423 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Model which rides can follow each other on the same vehicle, as a sparse directed graph over the ride IDs.
+ * There is an edge from ride i to ride j if a vehicle that starts i at its earliest start can drive from the
+ * destination of i to the pickup of j and start j by its latest start. Each edge holds the empty travel, the steps
+ * driven without a passenger, and the wait, the steps spent at the pickup of j until its earliest start.
+ * Since a vehicle may start i later than its earliest start, an edge is only a necessary condition for j to follow i.
+ *
+ * The edges are found by a hash join of the destination of every ride against the pickups, hashed by cell of the
+ * grid and sorted by earliest start within each cell. The cells are searched ring by ring outwards, and in each cell
+ * only the rides whose time window can still be open are read. Only the successors with the lowest empty travel plus
+ * wait are kept, up to a maximum per ride. The rides are searched in the order of the cells of their destinations,
+ * so that rides searched one after the other read the same cells, and are shared out between the cores in chunks.
+ * The edges are stored in compressed sparse rows: the edges of ride i are the positions firstEdge(i) to
+ * firstEdge(i + 1) - 1 of the edge columns, sorted by empty travel plus wait.
+ */
+public class RideGraph
+{
+    // Number of chunks of rides per core, so that cores that finish early can take another chunk
+    private static final int CHUNKS_PER_CORE = 4;
+    // Target number of rides in a cell whose time window is the one searched for a successor
+    private static final int RIDES_PER_CELL = 4;
+
+    // Position of the first edge of each ride, and of the end of the edges
+    private int[] offsets;
+    // The ride each edge goes to
+    private int[] successors;
+    // The distance from the destination of the ride each edge comes from, to the pickup of the ride it goes to
+    private int[] emptyTravel;
+    // The steps a vehicle waits at the pickup before the ride each edge goes to can start
+    private int[] waits;
+
+    /**
+     * Constructor of RideGraph
+     *
+     * @param rides All the rides
+     * @param rows Number of rows of the grid
+     * @param cols Number of columns of the grid
+     * @param maxSuccessors The most edges kept for each ride, at least 1
+     * @param maxEmptyTravel The longest empty travel of an edge
+     * @param maxWait The longest wait of an edge
+     */
+    public RideGraph(RideTable rides, int rows, int cols, int maxSuccessors, int maxEmptyTravel, int maxWait) {
+        int noOfRides = rides.size();
+        int maxSlack = 0;
+        int lastStart = 0;
+        int horizon = 1;
+        for (int rid = 0; rid < noOfRides; rid++) {
+            maxSlack = Math.max(maxSlack, rides.getLatestStart(rid) - rides.getEarliestStart(rid));
+            lastStart = Math.max(lastStart, rides.getLatestStart(rid));
+            horizon = Math.max(horizon, rides.getLatestFinish(rid));
+        }
+        // Only the rides that start in a window of this share of the steps are read in each cell, so the cells are
+        // sized for a few of those rides each
+        double window = Math.min(1.0, ((double) maxSlack + maxEmptyTravel + maxWait) / horizon);
+        double area = (double) Math.max(1, rows) * Math.max(1, cols);
+        int cellSize = (int) Math.ceil(Math.sqrt(area * RIDES_PER_CELL / Math.max(1.0, noOfRides * window)));
+        PickupIndex pickups = new PickupIndex(rides, rows, cols, Math.max(1, cellSize), maxSlack, lastStart);
+
+        // The rides in the order of the cells of their destinations, then of the steps they finish at the earliest
+        int[] destinationCells = new int[noOfRides];
+        int[] finishes = new int[noOfRides];
+        for (int rid = 0; rid < noOfRides; rid++) {
+            destinationCells[rid] = pickups.cellOf(rides.getDestinationX(rid), rides.getDestinationY(rid));
+            finishes[rid] = rides.getEarliestStart(rid) + rides.getDistance(rid);
+        }
+        int[] order = new int[noOfRides];
+        sortByCell(destinationCells, finishes, pickups.noOfCells(), order, null);
+
+        int noOfChunks = Math.min(noOfRides, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_CORE);
+        int chunkSize = noOfChunks == 0 ? 0 : (noOfRides + noOfChunks - 1) / noOfChunks;
+        Chunk[] chunks = IntStream.range(0, noOfChunks).parallel()
+                .mapToObj(chunk -> new Chunk(rides, pickups, order, chunk * chunkSize,
+                        Math.min(noOfRides, (chunk + 1) * chunkSize), maxSuccessors, maxEmptyTravel, maxWait))
+                .toArray(Chunk[]::new);
+
+        // Lay the edges out in the order of the ride IDs
+        offsets = new int[noOfRides + 1];
+        for (Chunk chunk : chunks) {
+            for (int i = chunk.start; i < chunk.end; i++) {
+                offsets[order[i] + 1] = chunk.degree(i);
+            }
+        }
+        Arrays.parallelPrefix(offsets, Integer::sum);
+        successors = new int[offsets[noOfRides]];
+        emptyTravel = new int[offsets[noOfRides]];
+        waits = new int[offsets[noOfRides]];
+        IntStream.range(0, chunks.length).parallel().forEach(c -> {
+            Chunk chunk = chunks[c];
+            for (int i = chunk.start; i < chunk.end; i++) {
+                int from = chunk.offsets[i - chunk.start];
+                int to = offsets[order[i]];
+                int degree = chunk.degree(i);
+                System.arraycopy(chunk.successors, from, successors, to, degree);
+                System.arraycopy(chunk.emptyTravel, from, emptyTravel, to, degree);
+                System.arraycopy(chunk.waits, from, waits, to, degree);
+            }
+        });
+    }
+
+    /**
+     * @return The number of rides in the graph
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return The number of edges in the graph
+     */
+    public int getNoOfEdges() {
+        return successors.length;
+    }
+
+    /**
+     * @param rid The ID of the ride
+     * @return The position of the first edge of the ride. The edges of the ride end at firstEdge(rid + 1).
+     */
+    public int firstEdge(int rid) {
+        return offsets[rid];
+    }
+
+    /**
+     * @param rid The ID of the ride
+     * @return The number of edges from the ride
+     */
+    public int getDegree(int rid) {
+        return offsets[rid + 1] - offsets[rid];
+    }
+
+    // Getters for the columns of the edges
+    public int getSuccessor(int edge) {
+        return successors[edge];
+    }
+
+    public int getEmptyTravel(int edge) {
+        return emptyTravel[edge];
+    }
+
+    public int getWait(int edge) {
+        return waits[edge];
+    }
+
+    // Private methods
+    /**
+     * Sort the ride IDs by cell, then by a key within each cell, then by ride ID.
+     *
+     * @param cells The cell of each ride
+     * @param keys The key of each ride, not negative
+     * @param noOfCells The number of cells
+     * @param order Where the sorted ride IDs are put
+     * @param cellStarts Where the position of the first ride of each cell, and of the end, is put, or null
+     */
+    private static void sortByCell(int[] cells, int[] keys, int noOfCells, int[] order, int[] cellStarts) {
+        int[] starts = cellStarts == null ? new int[noOfCells + 1] : cellStarts;
+        for (int cell : cells) {
+            starts[cell + 1]++;
+        }
+        for (int cell = 0; cell < noOfCells; cell++) {
+            starts[cell + 1] += starts[cell];
+        }
+        long[] sorted = new long[cells.length];
+        int[] next = Arrays.copyOf(starts, noOfCells);
+        for (int rid = 0; rid < cells.length; rid++) {
+            sorted[next[cells[rid]]++] = ((long) keys[rid] << 32) | rid;
+        }
+        for (int cell = 0; cell < noOfCells; cell++) {
+            Arrays.sort(sorted, starts[cell], starts[cell + 1]);
+        }
+        for (int i = 0; i < sorted.length; i++) {
+            order[i] = (int) sorted[i];
+        }
+    }
+
+    /**
+     * The pickups of all the rides, hashed by the cell of the grid they are in,
+     * and sorted by earliest start within each cell.
+     */
+    private static class PickupIndex
+    {
+        // Number of ints of each entry: the earliest start, the pickup, the latest start and the ID of a ride,
+        // next to each other so that a cell is read sequentially
+        private static final int ENTRY = 5;
+
+        private final int cellSize;
+        private final int cellsX;
+        private final int cellsY;
+        // The most steps between the earliest start and the latest start of any ride
+        private final int maxSlack;
+        // The latest start of the ride that can start the latest
+        private final int lastStart;
+        // Position of the first entry of each cell, and of the end of the entries
+        private int[] cellStarts;
+        // The entries of the rides, cell by cell
+        private int[] entries;
+
+        PickupIndex(RideTable rides, int rows, int cols, int cellSize, int maxSlack, int lastStart) {
+            this.cellSize = cellSize;
+            this.maxSlack = maxSlack;
+            this.lastStart = lastStart;
+            cellsX = (Math.max(1, rows) + cellSize - 1) / cellSize;
+            cellsY = (Math.max(1, cols) + cellSize - 1) / cellSize;
+            int[] cells = new int[rides.size()];
+            int[] earliestStarts = new int[rides.size()];
+            for (int rid = 0; rid < rides.size(); rid++) {
+                cells[rid] = cellOf(rides.getPickupX(rid), rides.getPickupY(rid));
+                earliestStarts[rid] = rides.getEarliestStart(rid);
+            }
+            int[] order = new int[rides.size()];
+            cellStarts = new int[noOfCells() + 1];
+            sortByCell(cells, earliestStarts, noOfCells(), order, cellStarts);
+            entries = new int[ENTRY * rides.size()];
+            for (int i = 0; i < order.length; i++) {
+                int rid = order[i];
+                entries[ENTRY * i] = rides.getEarliestStart(rid);
+                entries[ENTRY * i + 1] = rides.getPickupX(rid);
+                entries[ENTRY * i + 2] = rides.getPickupY(rid);
+                entries[ENTRY * i + 3] = rides.getLatestStart(rid);
+                entries[ENTRY * i + 4] = rid;
+            }
+        }
+
+        int noOfCells() {
+            return cellsX * cellsY;
+        }
+
+        int cellOf(int x, int y) {
+            return Math.min(cellsX - 1, x / cellSize) * cellsY + Math.min(cellsY - 1, y / cellSize);
+        }
+
+        /**
+         * Return the position of the first entry of a cell with an earliest start of at least a step.
+         */
+        int firstStartingFrom(int cell, int step) {
+            int low = cellStarts[cell];
+            int high = cellStarts[cell + 1];
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries[ENTRY * middle] < step) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * The edges from a range of the rides in search order, found by one core.
+     */
+    private static class Chunk
+    {
+        // The range of positions in the search order
+        private final int start;
+        private final int end;
+        // Position of the first edge of each ride of the chunk, and of the end of the edges
+        private int[] offsets;
+        private int[] successors;
+        private int[] emptyTravel;
+        private int[] waits;
+        private int noOfEdges;
+
+        private RideTable rides;
+        private PickupIndex pickups;
+        private int maxSuccessors;
+        private int maxEmptyTravel;
+        private int maxWait;
+        // The cheapest successors found so far for the current ride, sorted by cost
+        private int[] bestSuccessors;
+        private int[] bestEmptyTravel;
+        private int[] bestWaits;
+        private int[] bestCosts;
+        private int noOfBest;
+
+        Chunk(RideTable rides, PickupIndex pickups, int[] order, int start, int end, int maxSuccessors,
+              int maxEmptyTravel, int maxWait) {
+            this.start = start;
+            this.end = end;
+            this.rides = rides;
+            this.pickups = pickups;
+            this.maxSuccessors = maxSuccessors;
+            this.maxEmptyTravel = maxEmptyTravel;
+            this.maxWait = maxWait;
+            offsets = new int[end - start + 1];
+            int capacity = Math.max(16, (end - start) * Math.min(maxSuccessors, 4));
+            successors = new int[capacity];
+            emptyTravel = new int[capacity];
+            waits = new int[capacity];
+            bestSuccessors = new int[maxSuccessors];
+            bestEmptyTravel = new int[maxSuccessors];
+            bestWaits = new int[maxSuccessors];
+            bestCosts = new int[maxSuccessors];
+            for (int i = start; i < end; i++) {
+                offsets[i - start] = noOfEdges;
+                findSuccessors(order[i]);
+                ensureCapacity(noOfEdges + noOfBest);
+                System.arraycopy(bestSuccessors, 0, successors, noOfEdges, noOfBest);
+                System.arraycopy(bestEmptyTravel, 0, emptyTravel, noOfEdges, noOfBest);
+                System.arraycopy(bestWaits, 0, waits, noOfEdges, noOfBest);
+                noOfEdges += noOfBest;
+            }
+            offsets[end - start] = noOfEdges;
+        }
+
+        /**
+         * @param position The position of a ride of the chunk in the search order
+         * @return The number of edges found from the ride
+         */
+        int degree(int position) {
+            return offsets[position - start + 1] - offsets[position - start];
+        }
+
+        /**
+         * Search the cells around the destination of a ride ring by ring, until no cell left can hold a successor
+         * cheaper than the ones found.
+         */
+        private void findSuccessors(int rid) {
+            noOfBest = 0;
+            int x = rides.getDestinationX(rid);
+            int y = rides.getDestinationY(rid);
+            int finish = rides.getEarliestStart(rid) + rides.getDistance(rid);
+            int cx = Math.min(pickups.cellsX - 1, x / pickups.cellSize);
+            int cy = Math.min(pickups.cellsY - 1, y / pickups.cellSize);
+            int maxRing = Math.max(Math.max(cx, pickups.cellsX - 1 - cx), Math.max(cy, pickups.cellsY - 1 - cy));
+            // No pickup further than this can be reached before every ride has closed
+            int reach = Math.min(maxEmptyTravel, pickups.lastStart - finish);
+            for (int ring = 0; ring <= maxRing; ring++) {
+                // The nearest pickup in a ring is at least this far, and the cost of an edge is at least its distance
+                int ringDistance = ring == 0 ? 0 : (ring - 1) * pickups.cellSize + 1;
+                if (ringDistance > reach
+                        || (noOfBest == maxSuccessors && ringDistance >= bestCosts[noOfBest - 1])) {
+                    break;
+                }
+                int minY = Math.max(0, cy - ring);
+                int maxY = Math.min(pickups.cellsY - 1, cy + ring);
+                for (int i = Math.max(0, cx - ring); i <= Math.min(pickups.cellsX - 1, cx + ring); i++) {
+                    if (i == cx - ring || i == cx + ring) {
+                        // The first and last rows of the ring are whole
+                        for (int j = minY; j <= maxY; j++) {
+                            scanCell(rid, i * pickups.cellsY + j, x, y, finish);
+                        }
+                    } else {
+                        // The rows in between only have a cell on each side
+                        if (cy - ring >= 0) {
+                            scanCell(rid, i * pickups.cellsY + cy - ring, x, y, finish);
+                        }
+                        if (cy + ring < pickups.cellsY) {
+                            scanCell(rid, i * pickups.cellsY + cy + ring, x, y, finish);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Offer every ride of a cell whose time window can still be open when the vehicle arrives.
+         */
+        private void scanCell(int rid, int cell, int x, int y, int finish) {
+            int[] entries = pickups.entries;
+            // A ride that starts before this has closed before the vehicle is free
+            int from = pickups.firstStartingFrom(cell, Math.max(0, finish - pickups.maxSlack));
+            // A ride that starts after this has the vehicle wait too long, or longer than the cost of the successors
+            // found so far, wherever it is
+            int longestWait = noOfBest == maxSuccessors ? Math.min(maxWait, bestCosts[noOfBest - 1]) : maxWait;
+            long last = (long) finish + maxEmptyTravel + longestWait;
+            int to = PickupIndex.ENTRY * pickups.cellStarts[cell + 1];
+            for (int k = PickupIndex.ENTRY * from; k < to && entries[k] <= last; k += PickupIndex.ENTRY) {
+                int distance = Math.abs(entries[k + 1] - x) + Math.abs(entries[k + 2] - y);
+                int arrival = finish + distance;
+                if (distance > maxEmptyTravel || arrival > entries[k + 3] || entries[k + 4] == rid) {
+                    continue;
+                }
+                int wait = Math.max(0, entries[k] - arrival);
+                if (wait <= maxWait) {
+                    offer(entries[k + 4], distance, wait);
+                }
+            }
+        }
+
+        /**
+         * Keep a successor if it is one of the cheapest found so far, keeping them sorted by cost then ride ID.
+         */
+        private void offer(int next, int distance, int wait) {
+            int cost = distance + wait;
+            int i = noOfBest;
+            if (i == maxSuccessors) {
+                if (!comesBefore(cost, next, i - 1)) {
+                    return;
+                }
+                i--;
+            } else {
+                noOfBest++;
+            }
+            while (i > 0 && comesBefore(cost, next, i - 1)) {
+                bestSuccessors[i] = bestSuccessors[i - 1];
+                bestEmptyTravel[i] = bestEmptyTravel[i - 1];
+                bestWaits[i] = bestWaits[i - 1];
+                bestCosts[i] = bestCosts[i - 1];
+                i--;
+            }
+            bestSuccessors[i] = next;
+            bestEmptyTravel[i] = distance;
+            bestWaits[i] = wait;
+            bestCosts[i] = cost;
+        }
+
+        private boolean comesBefore(int cost, int next, int position) {
+            return cost < bestCosts[position] || (cost == bestCosts[position] && next < bestSuccessors[position]);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > successors.length) {
+                int length = Math.max(capacity, successors.length * 2);
+                successors = Arrays.copyOf(successors, length);
+                emptyTravel = Arrays.copyOf(emptyTravel, length);
+                waits = Arrays.copyOf(waits, length);
+            }
+        }
+    }
+}
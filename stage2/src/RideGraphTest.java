@@ -0,0 +1,92 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+
+public class RideGraphTest {
+
+    private RideTable rides;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // Random rides on a 100 x 100 grid over 1000 steps
+        Random random = new Random(1);
+        rides = new RideTable(500);
+        for (int rid = 0; rid < 500; rid++) {
+            int earliestStart = random.nextInt(900);
+            rides.add(random.nextInt(100), random.nextInt(100), random.nextInt(100), random.nextInt(100),
+                    earliestStart, earliestStart + 200 + random.nextInt(100));
+        }
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that with no ride over the limit of successors, the graph has every edge a search of all pairs finds
+     */
+    @Test
+    public void testSameAsAllPairs() {
+        RideGraph graph = new RideGraph(rides, 100, 100, rides.size(), 30, 50);
+        int noOfEdges = 0;
+        for (int rid = 0; rid < rides.size(); rid++) {
+            int finish = rides.getEarliestStart(rid) + rides.getDistance(rid);
+            for (int next = 0; next < rides.size(); next++) {
+                int distance = Math.abs(rides.getPickupX(next) - rides.getDestinationX(rid))
+                        + Math.abs(rides.getPickupY(next) - rides.getDestinationY(rid));
+                int wait = rides.getEarliestStart(next) - finish - distance;
+                if (next != rid && distance <= 30 && wait <= 50 && finish + distance <= rides.getLatestStart(next)) {
+                    assertTrue(hasEdge(graph, rid, next, distance, Math.max(0, wait)));
+                    noOfEdges++;
+                }
+            }
+        }
+        assertTrue(noOfEdges > 0);
+        assertEquals(noOfEdges, graph.getNoOfEdges());
+    }
+
+    /**
+     * Test that only the cheapest successors are kept, sorted by empty travel plus wait
+     */
+    @Test
+    public void testCheapestSuccessors() {
+        RideGraph all = new RideGraph(rides, 100, 100, rides.size(), 200, 1000);
+        RideGraph graph = new RideGraph(rides, 100, 100, 3, 200, 1000);
+        for (int rid = 0; rid < rides.size(); rid++) {
+            assertEquals(Math.min(3, all.getDegree(rid)), graph.getDegree(rid));
+            for (int i = 0; i < graph.getDegree(rid); i++) {
+                int edge = graph.firstEdge(rid) + i;
+                int allEdge = all.firstEdge(rid) + i;
+                assertEquals(all.getEmptyTravel(allEdge) + all.getWait(allEdge),
+                        graph.getEmptyTravel(edge) + graph.getWait(edge));
+                if (i > 0) {
+                    assertTrue(graph.getEmptyTravel(edge - 1) + graph.getWait(edge - 1)
+                            <= graph.getEmptyTravel(edge) + graph.getWait(edge));
+                }
+            }
+        }
+    }
+
+    private static boolean hasEdge(RideGraph graph, int rid, int next, int distance, int wait) {
+        for (int edge = graph.firstEdge(rid); edge < graph.firstEdge(rid + 1); edge++) {
+            if (graph.getSuccessor(edge) == next) {
+                return graph.getEmptyTravel(edge) == distance && graph.getWait(edge) == wait;
+            }
+        }
+        return false;
+    }
+}
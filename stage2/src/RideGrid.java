@@ -0,0 +1,294 @@
+import java.util.Arrays;
+
+/**
+ * Model a spatial index over the pickup locations of pending rides.
+ * The city is divided into square cells, and every pending ride is kept in the cell of its pickup location,
+ * so that rides can be searched ring by ring outwards from a vehicle, nearest cells first.
+ */
+public class RideGrid
+{
+    // Target number of rides per cell when the grid is sized
+    private static final int RIDES_PER_CELL = 2;
+
+    // Length of the side of each cell
+    private int cellSize;
+    // Number of cells along the x axis (rows of the city)
+    private int cellsX;
+    // Number of cells along the y axis (columns of the city)
+    private int cellsY;
+    // Ride IDs in each cell
+    private int[][] cells;
+    // Number of rides in each cell
+    private int[] cellCounts;
+    // The cell each ride is in, or -1 if the ride is not in the grid
+    private int[] cellOf;
+    // The position of each ride in its cell
+    private int[] slotOf;
+    // IDs of all the rides in the grid, in no particular order
+    private int[] allRides;
+    // The position of each ride in allRides
+    private int[] allSlotOf;
+    // Number of rides in the grid
+    private int size;
+
+    /**
+     * Constructor of RideGrid
+     *
+     * @param rows Number of rows of the city
+     * @param cols Number of columns of the city
+     * @param noOfRides Number of rides in the world, ride IDs must be from 0 to noOfRides - 1
+     */
+    public RideGrid(int rows, int cols, int noOfRides) {
+        double area = (double) Math.max(1, rows) * Math.max(1, cols);
+        cellSize = (int) Math.max(1, Math.ceil(Math.sqrt(area * RIDES_PER_CELL / Math.max(1, noOfRides))));
+        cellsX = (Math.max(1, rows) + cellSize - 1) / cellSize;
+        cellsY = (Math.max(1, cols) + cellSize - 1) / cellSize;
+        cells = new int[cellsX * cellsY][];
+        cellCounts = new int[cellsX * cellsY];
+        cellOf = new int[noOfRides];
+        Arrays.fill(cellOf, -1);
+        slotOf = new int[noOfRides];
+        allRides = new int[noOfRides];
+        allSlotOf = new int[noOfRides];
+        size = 0;
+    }
+
+    /**
+     * Add a ride to the cell of its pickup location.
+     *
+     * @param rid The ID of the ride to be added
+     * @param x The x coordinate of the pickup location
+     * @param y The y coordinate of the pickup location
+     */
+    public void add(int rid, int x, int y) {
+        addToCell(rid, cellAt(x, y));
+    }
+
+    /**
+     * Add a ride to a cell, worked out beforehand by cellAt for its pickup location.
+     *
+     * @param rid The ID of the ride to be added
+     * @param cell The cell of the pickup location
+     */
+    public void addToCell(int rid, int cell) {
+        if (cellOf[rid] >= 0) {
+            return;
+        }
+        int[] cellRides = cells[cell];
+        if (cellRides == null) {
+            cellRides = new int[RIDES_PER_CELL];
+            cells[cell] = cellRides;
+        } else if (cellCounts[cell] == cellRides.length) {
+            cellRides = Arrays.copyOf(cellRides, cellRides.length * 2);
+            cells[cell] = cellRides;
+        }
+        cellRides[cellCounts[cell]] = rid;
+        cellOf[rid] = cell;
+        slotOf[rid] = cellCounts[cell];
+        cellCounts[cell]++;
+        allRides[size] = rid;
+        allSlotOf[rid] = size;
+        size++;
+    }
+
+    /**
+     * @param x The x coordinate of a location
+     * @param y The y coordinate of a location
+     * @return The cell the location falls in
+     */
+    public int cellAt(int x, int y) {
+        return cellIndex(cellX(x), cellY(y));
+    }
+
+    /**
+     * Remove a ride from the grid in constant time, by moving the last ride of its cell into its place.
+     *
+     * @param rid The ID of the ride to be removed
+     */
+    public void remove(int rid) {
+        int cell = cellOf[rid];
+        if (cell < 0) {
+            return;
+        }
+        int[] cellRides = cells[cell];
+        int last = --cellCounts[cell];
+        int moved = cellRides[last];
+        cellRides[slotOf[rid]] = moved;
+        slotOf[moved] = slotOf[rid];
+        cellOf[rid] = -1;
+        size--;
+        moved = allRides[size];
+        allRides[allSlotOf[rid]] = moved;
+        allSlotOf[moved] = allSlotOf[rid];
+    }
+
+    /**
+     * @param rid The ID of the ride
+     * @return true if the ride is in the grid, false otherwise
+     */
+    public boolean contains(int rid) {
+        return cellOf[rid] >= 0;
+    }
+
+    /**
+     * @return The number of rides in the grid
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no rides in the grid, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return the ride at a position in the grid.
+     * Removing a ride only moves the ride at the last position, so rides can be removed
+     * while going through the positions from the last to the first.
+     *
+     * @param index The position, from 0 to size() - 1
+     * @return The ID of the ride at that position
+     */
+    public int rideAt(int index) {
+        return allRides[index];
+    }
+
+    /**
+     * Copy the IDs of all the rides in the grid into a buffer.
+     *
+     * @param buffer The buffer to copy the ride IDs into, big enough to hold every ride in the grid
+     * @return The number of ride IDs copied into the buffer
+     */
+    public int collectAll(int[] buffer) {
+        System.arraycopy(allRides, 0, buffer, 0, size);
+        return size;
+    }
+
+    /**
+     * Check if searching the cells around a location would visit more cells than there are rides in the grid,
+     * in which case going through all the rides is cheaper.
+     *
+     * @param x The x coordinate of the centre of the search
+     * @param y The y coordinate of the centre of the search
+     * @param distance How far from the location rides are searched, Integer.MAX_VALUE for no limit
+     * @return true if going through all the rides is cheaper, false otherwise
+     */
+    public boolean isSparse(int x, int y, int distance) {
+        long rings = Math.min(maxRing(x, y), distance / cellSize + 1);
+        long cellsSearched = Math.min((long) cells.length, (2 * rings + 1) * (2 * rings + 1));
+        return cellsSearched > size;
+    }
+
+    /**
+     * Return the largest ring around a location that still contains cells of the grid.
+     *
+     * @param x The x coordinate of the centre of the rings
+     * @param y The y coordinate of the centre of the rings
+     * @return The index of the outermost ring
+     */
+    public int maxRing(int x, int y) {
+        int cx = cellX(x);
+        int cy = cellY(y);
+        return Math.max(Math.max(cx, cellsX - 1 - cx), Math.max(cy, cellsY - 1 - cy));
+    }
+
+    /**
+     * Return a lower bound of the distance from a location to any pickup location in a ring of cells around it.
+     * Ring 0 is the cell of the location itself, ring k are the cells k cells away from it.
+     *
+     * @param x The x coordinate of the centre of the rings
+     * @param y The y coordinate of the centre of the rings
+     * @param ring The index of the ring
+     * @return The smallest number of steps needed to reach any cell in the ring,
+     *         Integer.MAX_VALUE if the ring is outside the grid
+     */
+    public int ringDistance(int x, int y, int ring) {
+        if (ring == 0) {
+            return 0;
+        }
+        int cx = cellX(x);
+        int cy = cellY(y);
+        // Distance to the nearest edge of the ring on each of its sides that is inside the grid
+        int gap = (ring - 1) * cellSize + 1;
+        int distance = Integer.MAX_VALUE;
+        if (cx - ring >= 0) {
+            distance = Math.min(distance, x - cx * cellSize + gap);
+        }
+        if (cx + ring < cellsX) {
+            distance = Math.min(distance, (cx + 1) * cellSize - 1 - x + gap);
+        }
+        if (cy - ring >= 0) {
+            distance = Math.min(distance, y - cy * cellSize + gap);
+        }
+        if (cy + ring < cellsY) {
+            distance = Math.min(distance, (cy + 1) * cellSize - 1 - y + gap);
+        }
+        return distance;
+    }
+
+    /**
+     * Copy the IDs of the rides in a ring of cells around a location into a buffer.
+     *
+     * @param x The x coordinate of the centre of the rings
+     * @param y The y coordinate of the centre of the rings
+     * @param ring The index of the ring
+     * @param buffer The buffer to copy the ride IDs into, big enough to hold every ride in the grid
+     * @return The number of ride IDs copied into the buffer
+     */
+    public int collectRing(int x, int y, int ring, int[] buffer) {
+        int cx = cellX(x);
+        int cy = cellY(y);
+        if (ring == 0) {
+            return collectCell(cx, cy, buffer, 0);
+        }
+        int count = 0;
+        int minY = Math.max(0, cy - ring);
+        int maxY = Math.min(cellsY - 1, cy + ring);
+        // Top and bottom rows of the ring, corners included
+        for (int j = minY; j <= maxY; j++) {
+            if (cx - ring >= 0) {
+                count = collectCell(cx - ring, j, buffer, count);
+            }
+            if (cx + ring < cellsX) {
+                count = collectCell(cx + ring, j, buffer, count);
+            }
+        }
+        int minX = Math.max(0, cx - ring + 1);
+        int maxX = Math.min(cellsX - 1, cx + ring - 1);
+        // Left and right columns of the ring, corners excluded
+        for (int i = minX; i <= maxX; i++) {
+            if (cy - ring >= 0) {
+                count = collectCell(i, cy - ring, buffer, count);
+            }
+            if (cy + ring < cellsY) {
+                count = collectCell(i, cy + ring, buffer, count);
+            }
+        }
+        return count;
+    }
+
+    // Private methods
+    private int collectCell(int cx, int cy, int[] buffer, int count) {
+        int cell = cellIndex(cx, cy);
+        int cellCount = cellCounts[cell];
+        if (cellCount > 0) {
+            System.arraycopy(cells[cell], 0, buffer, count, cellCount);
+        }
+        return count + cellCount;
+    }
+
+    private int cellX(int x) {
+        return Math.min(cellsX - 1, Math.max(0, x / cellSize));
+    }
+
+    private int cellY(int y) {
+        return Math.min(cellsY - 1, Math.max(0, y / cellSize));
+    }
+
+    private int cellIndex(int cx, int cy) {
+        return cx * cellsY + cy;
+    }
+}
@@ -0,0 +1,70 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class RideGridTest {
+
+    private RideGrid grid;
+    private int[] buffer;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // 100 x 100 city with 50 rides gives cells of 20 x 20
+        grid = new RideGrid(100, 100, 50);
+        buffer = new int[50];
+        grid.add(0, 0, 0);
+        grid.add(1, 5, 5);
+        grid.add(2, 30, 10);
+        grid.add(3, 99, 99);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that rides are found in the ring of cells around the location
+     */
+    @Test
+    public void testCollectRing() {
+        assertEquals(2, grid.collectRing(1, 1, 0, buffer));
+        assertEquals(1, grid.collectRing(1, 1, 1, buffer));
+        assertEquals(2, buffer[0]);
+        assertEquals(0, grid.collectRing(1, 1, 2, buffer));
+        assertEquals(1, grid.collectRing(1, 1, grid.maxRing(1, 1), buffer));
+        assertEquals(3, buffer[0]);
+    }
+
+    /**
+     * Test that the distance to a ring is never more than the distance to a ride in it
+     */
+    @Test
+    public void testRingDistance() {
+        assertEquals(0, grid.ringDistance(1, 1, 0));
+        assertEquals(19, grid.ringDistance(1, 1, 1));
+        assertTrue(grid.ringDistance(1, 1, 1) <= new Location(1, 1).distanceTo(new Location(30, 10)));
+    }
+
+    @Test
+    public void testRemove() {
+        grid.remove(0);
+        assertFalse(grid.contains(0));
+        assertTrue(grid.contains(1));
+        assertEquals(3, grid.size());
+        assertEquals(1, grid.collectRing(1, 1, 0, buffer));
+        assertEquals(1, buffer[0]);
+        assertEquals(3, grid.collectAll(buffer));
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * A rule for choosing which of the rides a vehicle could take next is the best one.
+ * Each ride is given a cost, and the ride with the lowest cost is taken.
+ * Rides with the same cost are told apart by their natural order and then by ride ID.
+ */
+public interface RidePolicy
+{
+    /**
+     * Take the shortest ride
+     */
+    RidePolicy SHORTEST_RIDE = (rides, rid, freeAt, arrival, bonus) -> rides.getDistance(rid);
+
+    /**
+     * Take the ride with the nearest starting point
+     */
+    RidePolicy LEAST_EMPTY_TRAVEL = (rides, rid, freeAt, arrival, bonus) -> arrival - freeAt;
+
+    /**
+     * Take a ride that can be started on time to earn the bonus if there is one,
+     * then the one with the nearest starting point
+     */
+    RidePolicy BONUS_FIRST = (rides, rid, freeAt, arrival, bonus) ->
+            (arrival <= rides.getEarliestStart(rid) ? 0 : 1L << 32) + arrival - freeAt;
+
+    /**
+     * Take the ride that can be started the soonest, counting both driving to it and waiting for it
+     */
+    RidePolicy LEAST_WAITING = (rides, rid, freeAt, arrival, bonus) ->
+            Math.max(arrival, rides.getEarliestStart(rid)) - freeAt;
+
+    /**
+     * Return the cost of a vehicle taking a ride. A lower cost is better.
+     *
+     * @param rides All the rides
+     * @param rid The ID of the ride
+     * @param freeAt The step at which the vehicle is free
+     * @param arrival The step at which the vehicle arrives at the starting point of the ride
+     * @param bonus Per-ride bonus for starting the ride on time
+     * @return The cost of taking the ride
+     */
+    long cost(RideTable rides, int rid, int freeAt, int arrival, int bonus);
+}
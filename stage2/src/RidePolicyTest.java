@@ -0,0 +1,52 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class RidePolicyTest {
+
+    private RideTable rides;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        rides = new RideTable(2);
+        // Distance 4, earliest start 2
+        rides.add(0, 0, 1, 3, 2, 9);
+        // Distance 2, earliest start 0
+        rides.add(1, 2, 1, 0, 0, 9);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    @Test
+    public void testBuiltInPolicies() {
+        // A vehicle free at step 1 arriving at step 1 at the first ride, and at step 3 at the second
+        assertEquals(4, RidePolicy.SHORTEST_RIDE.cost(rides, 0, 1, 1, 2));
+        assertEquals(2, RidePolicy.SHORTEST_RIDE.cost(rides, 1, 1, 3, 2));
+        assertEquals(0, RidePolicy.LEAST_EMPTY_TRAVEL.cost(rides, 0, 1, 1, 2));
+        assertEquals(1, RidePolicy.LEAST_WAITING.cost(rides, 0, 1, 1, 2));
+        assertTrue(RidePolicy.BONUS_FIRST.cost(rides, 0, 1, 1, 2) < RidePolicy.BONUS_FIRST.cost(rides, 1, 1, 3, 2));
+    }
+
+    @Test
+    public void testWeightedPolicy() {
+        RidePolicy policy = new WeightedPolicy(1, 1, 1, 1);
+        // Wait 1 step, less distance 4 and bonus 2
+        assertEquals(-5, policy.cost(rides, 0, 1, 1, 2));
+        // Drive 2 steps, less distance 2
+        assertEquals(0, policy.cost(rides, 1, 1, 3, 2));
+    }
+}
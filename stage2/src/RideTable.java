@@ -0,0 +1,194 @@
+import java.util.Arrays;
+
+/**
+ * Model all the rides of the world as columns of primitive values, indexed by ride ID.
+ * There is no object per ride and per location, so that the solver can go through the rides with sequential reads
+ * of int arrays.
+ * Locations are interned as the rides are added, so rides that share an intersection share its location ID.
+ */
+public class RideTable
+{
+    // The x coordinate of the starting point of each ride
+    private int[] pickupX;
+    // The y coordinate of the starting point of each ride
+    private int[] pickupY;
+    // The x coordinate of the finishing point of each ride
+    private int[] destinationX;
+    // The y coordinate of the finishing point of each ride
+    private int[] destinationY;
+    // The distinct locations of the rides
+    private LocationTable locations;
+    // The location ID of the starting point of each ride
+    private int[] pickupLocation;
+    // The location ID of the finishing point of each ride
+    private int[] destinationLocation;
+    // The earliest start of each ride
+    private int[] earliestStart;
+    // The latest start of each ride
+    private int[] latestStart;
+    // The latest finish of each ride
+    private int[] latestFinish;
+    // The distance of each ride, the length from pick up to destination
+    private int[] distance;
+    // Number of rides in the table
+    private int size;
+
+    /**
+     * Constructor of RideTable
+     *
+     * @param capacity The number of rides the table is expected to hold
+     */
+    public RideTable(int capacity) {
+        capacity = Math.max(1, capacity);
+        pickupX = new int[capacity];
+        pickupY = new int[capacity];
+        destinationX = new int[capacity];
+        destinationY = new int[capacity];
+        locations = new LocationTable(capacity);
+        pickupLocation = new int[capacity];
+        destinationLocation = new int[capacity];
+        earliestStart = new int[capacity];
+        latestStart = new int[capacity];
+        latestFinish = new int[capacity];
+        distance = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * Constructor of RideTable, holding every ride of a binary world.
+     * The columns are copied in bulk from the mapped file, and only the derived columns are computed.
+     *
+     * @param world The binary world
+     */
+    public RideTable(BinaryWorld world) {
+        this(world.getHeader(BinaryWorld.RIDES));
+        size = world.getHeader(BinaryWorld.RIDES);
+        world.getColumn(BinaryWorld.PICKUP_X).get(pickupX, 0, size);
+        world.getColumn(BinaryWorld.PICKUP_Y).get(pickupY, 0, size);
+        world.getColumn(BinaryWorld.DESTINATION_X).get(destinationX, 0, size);
+        world.getColumn(BinaryWorld.DESTINATION_Y).get(destinationY, 0, size);
+        world.getColumn(BinaryWorld.EARLIEST_START).get(earliestStart, 0, size);
+        world.getColumn(BinaryWorld.LATEST_FINISH).get(latestFinish, 0, size);
+        for (int rid = 0; rid < size; rid++) {
+            pickupLocation[rid] = locations.intern(pickupX[rid], pickupY[rid]);
+            destinationLocation[rid] = locations.intern(destinationX[rid], destinationY[rid]);
+            distance[rid] = Math.abs(destinationX[rid] - pickupX[rid]) + Math.abs(destinationY[rid] - pickupY[rid]);
+            latestStart[rid] = latestFinish[rid] - distance[rid];
+        }
+    }
+
+    /**
+     * Add a ride to the table. The ride ID is the position of the ride in the table.
+     *
+     * @param x1 The x coordinate of the starting point
+     * @param y1 The y coordinate of the starting point
+     * @param x2 The x coordinate of the finishing point
+     * @param y2 The y coordinate of the finishing point
+     * @param earliestStart The earliest start of the ride
+     * @param latestFinish The latest finish of the ride
+     * @return The ID of the ride
+     */
+    public int add(int x1, int y1, int x2, int y2, int earliestStart, int latestFinish) {
+        if (size == pickupX.length) {
+            grow();
+        }
+        int rid = size;
+        pickupX[rid] = x1;
+        pickupY[rid] = y1;
+        destinationX[rid] = x2;
+        destinationY[rid] = y2;
+        pickupLocation[rid] = locations.intern(x1, y1);
+        destinationLocation[rid] = locations.intern(x2, y2);
+        this.earliestStart[rid] = earliestStart;
+        this.latestFinish[rid] = latestFinish;
+        distance[rid] = Math.abs(x2 - x1) + Math.abs(y2 - y1);
+        latestStart[rid] = latestFinish - distance[rid];
+        size++;
+        return rid;
+    }
+
+    /**
+     * Compares two rides with earliest start time first, then compare the latest finish time,
+     * then compare the distance.
+     *
+     * @param rid The ID of the first ride
+     * @param other The ID of the second ride
+     * @return a negative integer, zero, or a positive integer as the first ride is less than, equal to,
+     *         or greater than the second ride.
+     */
+    public int compare(int rid, int other) {
+        int compareStart = Integer.compare(earliestStart[rid], earliestStart[other]);
+        if (compareStart != 0) {
+            return compareStart;
+        }
+        int compareEnd = Integer.compare(latestFinish[rid], latestFinish[other]);
+        if (compareEnd != 0) {
+            return compareEnd;
+        }
+        return Integer.compare(distance[rid], distance[other]);
+    }
+
+    // Getters for each column
+    public int size() {
+        return size;
+    }
+
+    public int getPickupX(int rid) {
+        return pickupX[rid];
+    }
+
+    public int getPickupY(int rid) {
+        return pickupY[rid];
+    }
+
+    public int getDestinationX(int rid) {
+        return destinationX[rid];
+    }
+
+    public int getDestinationY(int rid) {
+        return destinationY[rid];
+    }
+
+    public LocationTable getLocations() {
+        return locations;
+    }
+
+    public int getPickupLocation(int rid) {
+        return pickupLocation[rid];
+    }
+
+    public int getDestinationLocation(int rid) {
+        return destinationLocation[rid];
+    }
+
+    public int getEarliestStart(int rid) {
+        return earliestStart[rid];
+    }
+
+    public int getLatestStart(int rid) {
+        return latestStart[rid];
+    }
+
+    public int getLatestFinish(int rid) {
+        return latestFinish[rid];
+    }
+
+    public int getDistance(int rid) {
+        return distance[rid];
+    }
+
+    // Private methods
+    private void grow() {
+        int capacity = pickupX.length * 2;
+        pickupX = Arrays.copyOf(pickupX, capacity);
+        pickupY = Arrays.copyOf(pickupY, capacity);
+        destinationX = Arrays.copyOf(destinationX, capacity);
+        destinationY = Arrays.copyOf(destinationY, capacity);
+        pickupLocation = Arrays.copyOf(pickupLocation, capacity);
+        destinationLocation = Arrays.copyOf(destinationLocation, capacity);
+        earliestStart = Arrays.copyOf(earliestStart, capacity);
+        latestStart = Arrays.copyOf(latestStart, capacity);
+        latestFinish = Arrays.copyOf(latestFinish, capacity);
+        distance = Arrays.copyOf(distance, capacity);
+    }
+}
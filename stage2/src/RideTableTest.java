@@ -0,0 +1,75 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class RideTableTest {
+
+    private RideTable rides;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // Start small so that the columns grow
+        rides = new RideTable(1);
+        rides.add(0, 0, 1, 3, 2, 9);
+        rides.add(1, 2, 1, 0, 0, 9);
+        rides.add(2, 0, 2, 2, 0, 9);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that the columns hold the rides added, and the derived columns are worked out from them
+     */
+    @Test
+    public void testAdd() {
+        assertEquals(3, rides.size());
+        assertEquals(1, rides.getPickupX(1));
+        assertEquals(2, rides.getPickupY(1));
+        assertEquals(1, rides.getDestinationX(0));
+        assertEquals(3, rides.getDestinationY(0));
+        assertEquals(2, rides.getEarliestStart(0));
+        assertEquals(9, rides.getLatestFinish(0));
+    }
+
+    /**
+     * Test that a correct distance would be returned
+     */
+    @Test
+    public void testDistance() {
+        assertEquals(4, rides.getDistance(0));
+        assertEquals(2, rides.getDistance(1));
+        assertEquals(5, rides.getLatestStart(0));
+        assertEquals(7, rides.getLatestStart(2));
+    }
+
+    /**
+     * Test that rides are compared by earliest start, then latest finish, then distance
+     */
+    @Test
+    public void testCompare() {
+        assertTrue(rides.compare(1, 0) < 0);
+        assertTrue(rides.compare(0, 1) > 0);
+        // Same earliest start, latest finish and distance
+        assertEquals(0, rides.compare(1, 2));
+        // Same earliest start and latest finish, the shorter ride first
+        rides.add(5, 5, 5, 6, 0, 9);
+        assertTrue(rides.compare(3, 1) < 0);
+        // Same earliest start, the ride that finishes first first
+        rides.add(5, 5, 5, 6, 0, 8);
+        assertTrue(rides.compare(4, 3) < 0);
+    }
+}
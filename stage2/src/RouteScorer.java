@@ -0,0 +1,401 @@
+import java.util.Arrays;
+
+/**
+ * Model the routes of the fleet together with the score of each route, following the scoring rules of stage1.
+ * For every position in a route, the step at which the vehicle finishes that ride and the score of the route
+ * up to that ride are kept, so that the change in score of an edit to a route can be found by replaying
+ * only the rides after the edit. The replay stops as soon as a ride finishes at the same step as before,
+ * since the vehicle is then back on its old timeline.
+ *
+ * The delta methods only read the route of the vehicles they are given, and the edit methods only change them,
+ * so different threads can work on routes of different vehicles at the same time.
+ */
+public class RouteScorer
+{
+    // Initial number of rides in the route of each vehicle
+    private static final int INITIAL_ROUTE_CAPACITY = 8;
+
+    // All the rides
+    private RideTable rides;
+    // Per-ride bonus for starting the ride on time
+    private int bonus;
+    // Number of steps in the simulation
+    private int noOfSteps;
+    // The IDs of the rides assigned to each vehicle, in order
+    private int[][] routes;
+    // Number of rides assigned to each vehicle
+    private int[] routeLengths;
+    // The step at which each vehicle finishes each ride of its route
+    private int[][] finishSteps;
+    // The score of each route up to and including each ride
+    private long[][] prefixScores;
+
+    /**
+     * Constructor of RouteScorer. Every vehicle starts with no rides.
+     *
+     * @param rides All the rides
+     * @param bonus Per-ride bonus for starting the ride on time
+     * @param noOfSteps Number of steps in the simulation
+     * @param noOfVehicles Number of vehicles in the fleet
+     */
+    public RouteScorer(RideTable rides, int bonus, int noOfSteps, int noOfVehicles) {
+        this.rides = rides;
+        this.bonus = bonus;
+        this.noOfSteps = noOfSteps;
+        routes = new int[noOfVehicles][INITIAL_ROUTE_CAPACITY];
+        routeLengths = new int[noOfVehicles];
+        finishSteps = new int[noOfVehicles][INITIAL_ROUTE_CAPACITY];
+        prefixScores = new long[noOfVehicles][INITIAL_ROUTE_CAPACITY];
+    }
+
+    /**
+     * Constructor of RouteScorer, with the routes of a fleet.
+     *
+     * @param fleet The fleet whose routes are scored
+     * @param rides All the rides
+     * @param bonus Per-ride bonus for starting the ride on time
+     * @param noOfSteps Number of steps in the simulation
+     */
+    public RouteScorer(FleetTable fleet, RideTable rides, int bonus, int noOfSteps) {
+        this(rides, bonus, noOfSteps, fleet.size());
+        for (int vehicle = 0; vehicle < fleet.size(); vehicle++) {
+            int length = fleet.getRouteLength(vehicle);
+            int[] route = new int[length];
+            for (int i = 0; i < length; i++) {
+                route[i] = fleet.getRide(vehicle, i);
+            }
+            setRoute(vehicle, route, length);
+        }
+    }
+
+    /**
+     * Replace the route of a vehicle, and score it from the start.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param route The IDs of the rides, in order
+     * @param length The number of rides in the route
+     */
+    public void setRoute(int vehicle, int[] route, int length) {
+        ensureCapacity(vehicle, length);
+        System.arraycopy(route, 0, routes[vehicle], 0, length);
+        routeLengths[vehicle] = length;
+        rescore(vehicle, 0);
+    }
+
+    // Scores
+    /**
+     * @param vehicle The ID of the vehicle
+     * @return The score of the route of the vehicle
+     */
+    public long getScore(int vehicle) {
+        int length = routeLengths[vehicle];
+        return length == 0 ? 0 : prefixScores[vehicle][length - 1];
+    }
+
+    /**
+     * @return The score of all the routes, the same as the score stage1 gives the allocation
+     */
+    public long getTotalScore() {
+        long total = 0;
+        for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+            total += getScore(vehicle);
+        }
+        return total;
+    }
+
+    /**
+     * Return the points a ride scores, if it is the next ride of a vehicle that is free at a step at a location.
+     *
+     * @param rid The ID of the ride
+     * @param step The step at which the vehicle is free
+     * @param x The x coordinate of the vehicle
+     * @param y The y coordinate of the vehicle
+     * @return The distance of the ride plus the bonus if it starts on time, or 0 if it finishes too late
+     */
+    public int points(int rid, int step, int x, int y) {
+        int arrival = step + Math.abs(rides.getPickupX(rid) - x) + Math.abs(rides.getPickupY(rid) - y);
+        int earliestStart = rides.getEarliestStart(rid);
+        int finish = Math.max(arrival, earliestStart) + rides.getDistance(rid);
+        if (finish > Math.min(rides.getLatestFinish(rid), noOfSteps)) {
+            return 0;
+        }
+        return rides.getDistance(rid) + (arrival <= earliestStart ? bonus : 0);
+    }
+
+    /**
+     * Return the step at which a vehicle that is free at a step at a location finishes a ride.
+     * Late rides are still driven, so this is the same whether or not the ride scores.
+     *
+     * @param rid The ID of the ride
+     * @param step The step at which the vehicle is free
+     * @param x The x coordinate of the vehicle
+     * @param y The y coordinate of the vehicle
+     * @return The step at which the ride is finished
+     */
+    public int finishStep(int rid, int step, int x, int y) {
+        int arrival = step + Math.abs(rides.getPickupX(rid) - x) + Math.abs(rides.getPickupY(rid) - y);
+        return Math.max(arrival, rides.getEarliestStart(rid)) + rides.getDistance(rid);
+    }
+
+    // Deltas
+    /**
+     * Return the change in score if a ride is inserted into the route of a vehicle.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param position The position the ride would take, from 0 to the length of the route
+     * @param rid The ID of the ride
+     * @return The change in the score of the route
+     */
+    public long insertDelta(int vehicle, int position, int rid) {
+        int step = stepBefore(vehicle, position);
+        int x = xBefore(vehicle, position);
+        int y = yBefore(vehicle, position);
+        return points(rid, step, x, y)
+                + replayDelta(vehicle, position, finishStep(rid, step, x, y),
+                        rides.getDestinationX(rid), rides.getDestinationY(rid));
+    }
+
+    /**
+     * Return the change in score if a ride is removed from the route of a vehicle.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param position The position of the ride in the route
+     * @return The change in the score of the route
+     */
+    public long removeDelta(int vehicle, int position) {
+        return -pointsAt(vehicle, position)
+                + replayDelta(vehicle, position + 1, stepBefore(vehicle, position),
+                        xBefore(vehicle, position), yBefore(vehicle, position));
+    }
+
+    /**
+     * Return the change in score if a ride of the route of a vehicle is replaced with another ride.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param position The position of the ride to be replaced
+     * @param rid The ID of the new ride
+     * @return The change in the score of the route
+     */
+    public long replaceDelta(int vehicle, int position, int rid) {
+        int step = stepBefore(vehicle, position);
+        int x = xBefore(vehicle, position);
+        int y = yBefore(vehicle, position);
+        return points(rid, step, x, y) - pointsAt(vehicle, position)
+                + replayDelta(vehicle, position + 1, finishStep(rid, step, x, y),
+                        rides.getDestinationX(rid), rides.getDestinationY(rid));
+    }
+
+    /**
+     * Return the change in the score of a vehicle's route if its rides from a position onwards are replaced
+     * with the rides of another vehicle's route from a position onwards.
+     * Used twice, once for each vehicle, to evaluate exchanging the tails of two routes.
+     *
+     * @param vehicle The ID of the vehicle keeping its rides before position
+     * @param position The first position of the tail that is replaced
+     * @param other The ID of the vehicle whose tail is taken
+     * @param otherPosition The first position of the tail of the other vehicle
+     * @return The change in the score of the route of the vehicle
+     */
+    public long tailDelta(int vehicle, int position, int other, int otherPosition) {
+        long oldTail = getScore(vehicle) - scoreBefore(vehicle, position);
+        long otherTail = getScore(other) - scoreBefore(other, otherPosition);
+        return otherTail - oldTail
+                + replayDelta(other, otherPosition, stepBefore(vehicle, position),
+                        xBefore(vehicle, position), yBefore(vehicle, position));
+    }
+
+    // Edits
+    /**
+     * Insert a ride into the route of a vehicle.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param position The position the ride takes, from 0 to the length of the route
+     * @param rid The ID of the ride
+     */
+    public void insert(int vehicle, int position, int rid) {
+        int length = routeLengths[vehicle];
+        ensureCapacity(vehicle, length + 1);
+        int[] route = routes[vehicle];
+        System.arraycopy(route, position, route, position + 1, length - position);
+        route[position] = rid;
+        routeLengths[vehicle] = length + 1;
+        rescore(vehicle, position);
+    }
+
+    /**
+     * Remove a ride from the route of a vehicle.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param position The position of the ride in the route
+     * @return The ID of the ride that was removed
+     */
+    public int remove(int vehicle, int position) {
+        int[] route = routes[vehicle];
+        int rid = route[position];
+        System.arraycopy(route, position + 1, route, position, routeLengths[vehicle] - position - 1);
+        routeLengths[vehicle]--;
+        rescore(vehicle, position);
+        return rid;
+    }
+
+    /**
+     * Replace a ride of the route of a vehicle with another ride.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param position The position of the ride to be replaced
+     * @param rid The ID of the new ride
+     * @return The ID of the ride that was replaced
+     */
+    public int replace(int vehicle, int position, int rid) {
+        int old = routes[vehicle][position];
+        routes[vehicle][position] = rid;
+        rescore(vehicle, position);
+        return old;
+    }
+
+    /**
+     * Exchange the tails of the routes of two vehicles.
+     *
+     * @param vehicle The ID of the first vehicle
+     * @param position The first position of the tail of the first vehicle
+     * @param other The ID of the second vehicle
+     * @param otherPosition The first position of the tail of the second vehicle
+     */
+    public void exchangeTails(int vehicle, int position, int other, int otherPosition) {
+        int[] tail = Arrays.copyOfRange(routes[vehicle], position, routeLengths[vehicle]);
+        int[] otherTail = Arrays.copyOfRange(routes[other], otherPosition, routeLengths[other]);
+        ensureCapacity(vehicle, position + otherTail.length);
+        ensureCapacity(other, otherPosition + tail.length);
+        System.arraycopy(otherTail, 0, routes[vehicle], position, otherTail.length);
+        System.arraycopy(tail, 0, routes[other], otherPosition, tail.length);
+        routeLengths[vehicle] = position + otherTail.length;
+        routeLengths[other] = otherPosition + tail.length;
+        rescore(vehicle, position);
+        rescore(other, otherPosition);
+    }
+
+    // Getters for the routes
+    public int getBonus() {
+        return bonus;
+    }
+
+    public int size() {
+        return routes.length;
+    }
+
+    public int getRouteLength(int vehicle) {
+        return routeLengths[vehicle];
+    }
+
+    /**
+     * @param vehicle The ID of the vehicle
+     * @param position The position of the ride in the route of the vehicle
+     * @return The ID of the ride at that position
+     */
+    public int getRide(int vehicle, int position) {
+        return routes[vehicle][position];
+    }
+
+    /**
+     * @param vehicle The ID of the vehicle
+     * @param position The position of the ride in the route of the vehicle
+     * @return The step at which the vehicle finishes the ride at that position
+     */
+    public int getFinishStep(int vehicle, int position) {
+        return finishSteps[vehicle][position];
+    }
+
+    /**
+     * @param vehicle The ID of the vehicle
+     * @param position The position of the ride in the route of the vehicle
+     * @return The points the ride at that position scores
+     */
+    public int pointsAt(int vehicle, int position) {
+        return (int) (prefixScores[vehicle][position] - scoreBefore(vehicle, position));
+    }
+
+    /**
+     * The step at which a vehicle is free before the ride at a position, 0 before the first ride.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param position The position in the route of the vehicle
+     * @return The step at which the vehicle is free before that position
+     */
+    public int stepBefore(int vehicle, int position) {
+        return position == 0 ? 0 : finishSteps[vehicle][position - 1];
+    }
+
+    /**
+     * @param vehicle The ID of the vehicle
+     * @param position The position in the route of the vehicle
+     * @return The x coordinate of the vehicle before the ride at that position
+     */
+    public int xBefore(int vehicle, int position) {
+        return position == 0 ? 0 : rides.getDestinationX(routes[vehicle][position - 1]);
+    }
+
+    /**
+     * @param vehicle The ID of the vehicle
+     * @param position The position in the route of the vehicle
+     * @return The y coordinate of the vehicle before the ride at that position
+     */
+    public int yBefore(int vehicle, int position) {
+        return position == 0 ? 0 : rides.getDestinationY(routes[vehicle][position - 1]);
+    }
+
+    // Private methods
+    private long scoreBefore(int vehicle, int position) {
+        return position == 0 ? 0 : prefixScores[vehicle][position - 1];
+    }
+
+    /**
+     * Replay the rides of a route from a position, starting from a new step and location,
+     * and return the change in the score of those rides.
+     * Stops at the first ride that finishes at the same step as before, since every ride after it is unchanged.
+     */
+    private long replayDelta(int vehicle, int position, int step, int x, int y) {
+        int[] route = routes[vehicle];
+        int[] finish = finishSteps[vehicle];
+        long delta = 0;
+        for (int i = position; i < routeLengths[vehicle]; i++) {
+            int rid = route[i];
+            delta += points(rid, step, x, y) - pointsAt(vehicle, i);
+            step = finishStep(rid, step, x, y);
+            if (step == finish[i]) {
+                break;
+            }
+            x = rides.getDestinationX(rid);
+            y = rides.getDestinationY(rid);
+        }
+        return delta;
+    }
+
+    /**
+     * Recalculate the finish steps and prefix scores of a route from a position onwards.
+     */
+    private void rescore(int vehicle, int position) {
+        int[] route = routes[vehicle];
+        int step = stepBefore(vehicle, position);
+        int x = xBefore(vehicle, position);
+        int y = yBefore(vehicle, position);
+        long score = scoreBefore(vehicle, position);
+        for (int i = position; i < routeLengths[vehicle]; i++) {
+            int rid = route[i];
+            score += points(rid, step, x, y);
+            step = finishStep(rid, step, x, y);
+            x = rides.getDestinationX(rid);
+            y = rides.getDestinationY(rid);
+            finishSteps[vehicle][i] = step;
+            prefixScores[vehicle][i] = score;
+        }
+    }
+
+    private void ensureCapacity(int vehicle, int length) {
+        if (routes[vehicle].length < length) {
+            int capacity = Math.max(length, routes[vehicle].length * 2);
+            routes[vehicle] = Arrays.copyOf(routes[vehicle], capacity);
+            finishSteps[vehicle] = Arrays.copyOf(finishSteps[vehicle], capacity);
+            prefixScores[vehicle] = Arrays.copyOf(prefixScores[vehicle], capacity);
+        }
+    }
+}
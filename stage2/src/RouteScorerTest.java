@@ -0,0 +1,117 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class RouteScorerTest {
+
+    private RideTable rides;
+    private RouteScorer scorer;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // The example of the problem statement, with a bonus of 2 and 10 steps
+        rides = new RideTable(3);
+        rides.add(0, 0, 1, 3, 2, 9);
+        rides.add(1, 2, 1, 0, 0, 9);
+        rides.add(2, 0, 2, 2, 0, 9);
+        scorer = new RouteScorer(rides, 2, 10, 3);
+        scorer.setRoute(0, new int[] {0}, 1);
+        scorer.setRoute(1, new int[] {2, 1}, 2);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test that the routes of the example score 10, as in the problem statement
+     */
+    @Test
+    public void testScore() {
+        assertEquals(6, scorer.getScore(0));
+        assertEquals(4, scorer.getScore(1));
+        assertEquals(10, scorer.getTotalScore());
+        assertEquals(6, scorer.getFinishStep(0, 0));
+        assertEquals(7, scorer.getFinishStep(1, 1));
+    }
+
+    /**
+     * Test that the delta of every insertion is the same as scoring the new route from the start
+     */
+    @Test
+    public void testInsertDelta() {
+        for (int position = 0; position <= 2; position++) {
+            long delta = scorer.insertDelta(1, position, 0);
+            scorer.insert(1, position, 0);
+            assertEquals(4 + delta, scorer.getScore(1));
+            assertEquals(scorer.getScore(1), rescore(1));
+            scorer.remove(1, position);
+            assertEquals(4, scorer.getScore(1));
+        }
+    }
+
+    @Test
+    public void testRemoveDelta() {
+        long delta = scorer.removeDelta(1, 0);
+        assertEquals(2, scorer.remove(1, 0));
+        assertEquals(4 + delta, scorer.getScore(1));
+        assertEquals(scorer.getScore(1), rescore(1));
+    }
+
+    @Test
+    public void testReplaceDelta() {
+        long delta = scorer.replaceDelta(1, 1, 0);
+        assertEquals(1, scorer.replace(1, 1, 0));
+        assertEquals(4 + delta, scorer.getScore(1));
+        assertEquals(scorer.getScore(1), rescore(1));
+    }
+
+    /**
+     * Test that the deltas of exchanging tails add up to the change in the total score
+     */
+    @Test
+    public void testTailDelta() {
+        long delta = scorer.tailDelta(0, 1, 1, 1) + scorer.tailDelta(1, 1, 0, 1);
+        scorer.exchangeTails(0, 1, 1, 1);
+        assertEquals(2, scorer.getRouteLength(0));
+        assertEquals(1, scorer.getRouteLength(1));
+        assertEquals(10 + delta, scorer.getTotalScore());
+        assertEquals(scorer.getScore(0), rescore(0));
+    }
+
+    /**
+     * Test that a ride finishing after the last step is driven but does not score
+     */
+    @Test
+    public void testLateRide() {
+        scorer.setRoute(2, new int[] {0, 0, 0}, 3);
+        assertEquals(6, scorer.getScore(2));
+        assertEquals(14, scorer.getFinishStep(2, 1));
+        assertEquals(0, scorer.pointsAt(2, 2));
+    }
+
+    /**
+     * Score the route of a vehicle from the start with a new RouteScorer
+     */
+    private long rescore(int vehicle) {
+        RouteScorer fresh = new RouteScorer(rides, 2, 10, 1);
+        int[] route = new int[scorer.getRouteLength(vehicle)];
+        for (int i = 0; i < route.length; i++) {
+            route[i] = scorer.getRide(vehicle, i);
+        }
+        fresh.setRoute(0, route, route.length);
+        return fresh.getScore(0);
+    }
+}
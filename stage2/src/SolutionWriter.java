@@ -0,0 +1,150 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * SolutionWriter writes lines of non-negative integers separated by spaces, such as the allocation of a fleet.
+ * Digits are encoded straight into one reusable byte buffer, which is written to the channel only when it is full,
+ * so no String is created per number and the output is not locked per number.
+ */
+public class SolutionWriter implements AutoCloseable
+{
+    // Size of the buffer, which is written to the channel when it might not have room for another number
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Most bytes a number and the space before it take
+    private static final int MAX_NUMBER_LENGTH = 11;
+
+    private WritableByteChannel channel;
+    // The stream under the channel, if the writer was made for a stream, which is flushed with the writer
+    private OutputStream out;
+    // Whether closing the writer closes the channel
+    private boolean ownsChannel;
+    private ByteBuffer buffer;
+    private byte[] bytes;
+    // Number of bytes in the buffer
+    private int position;
+    // Whether the next number starts a line
+    private boolean lineStart;
+
+    /**
+     * Constructor of SolutionWriter. Closing the writer flushes it, but does not close the channel.
+     *
+     * @param channel The channel the lines are written to
+     */
+    public SolutionWriter(WritableByteChannel channel) {
+        this(channel, false);
+    }
+
+    /**
+     * Constructor of SolutionWriter. Closing the writer flushes it, but does not close the stream.
+     *
+     * @param out The stream the lines are written to
+     */
+    public SolutionWriter(OutputStream out) {
+        this(Channels.newChannel(out), false);
+        this.out = out;
+    }
+
+    private SolutionWriter(WritableByteChannel channel, boolean ownsChannel) {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        bytes = new byte[BUFFER_SIZE];
+        buffer = ByteBuffer.wrap(bytes);
+        position = 0;
+        lineStart = true;
+    }
+
+    /**
+     * Create or replace a file and write to it. A file whose name ends in .gz is gzip-compressed.
+     *
+     * @param path The file to be written
+     * @return A writer that closes the file when it is closed
+     * @throws IOException If the file cannot be created
+     */
+    public static SolutionWriter open(Path path) throws IOException {
+        if (path.getFileName().toString().endsWith(".gz")) {
+            OutputStream out = new GZIPOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+            return new SolutionWriter(Channels.newChannel(out), true);
+        }
+        return new SolutionWriter(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), true);
+    }
+
+    /**
+     * Write a number to the current line, after a space unless it is the first number of the line.
+     *
+     * @param value The number, not negative
+     * @throws IOException If the channel cannot be written to
+     */
+    public void writeInt(int value) throws IOException {
+        if (position > BUFFER_SIZE - MAX_NUMBER_LENGTH) {
+            drain();
+        }
+        if (!lineStart) {
+            bytes[position++] = ' ';
+        }
+        lineStart = false;
+        // Digits are written from the end, so count them first
+        int length = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            length++;
+        }
+        for (int i = position + length - 1; i >= position; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += length;
+    }
+
+    /**
+     * End the current line.
+     *
+     * @throws IOException If the channel cannot be written to
+     */
+    public void endLine() throws IOException {
+        if (position == BUFFER_SIZE) {
+            drain();
+        }
+        bytes[position++] = '\n';
+        lineStart = true;
+    }
+
+    /**
+     * Write everything in the buffer to the channel, and flush the stream under it.
+     *
+     * @throws IOException If the channel cannot be written to
+     */
+    public void flush() throws IOException {
+        drain();
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (ownsChannel) {
+                channel.close();
+            }
+        }
+    }
+
+    // Private methods
+    private void drain() throws IOException {
+        buffer.clear().limit(position);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        position = 0;
+    }
+}
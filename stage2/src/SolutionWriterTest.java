@@ -0,0 +1,78 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+
+public class SolutionWriterTest {
+
+    private Path file;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = Files.createTempFile("solution", ".out.gz");
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test that lines are written the same as with print, also when they do not fit in the buffer
+     */
+    @Test
+    public void testWriteLines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder();
+        SolutionWriter writer = new SolutionWriter(out);
+        for (int line = 0; line < 10000; line++) {
+            writer.writeInt(line % 7);
+            expected.append(line % 7);
+            for (int i = 0; i < line % 7; i++) {
+                writer.writeInt(Integer.MAX_VALUE - line * i);
+                expected.append(' ').append(Integer.MAX_VALUE - line * i);
+            }
+            writer.endLine();
+            expected.append('\n');
+        }
+        writer.writeInt(0);
+        writer.endLine();
+        writer.flush();
+        assertEquals(expected + "0\n", out.toString());
+    }
+
+    /**
+     * Test that a file whose name ends in .gz is compressed
+     */
+    @Test
+    public void testGzip() throws Exception {
+        try (SolutionWriter writer = SolutionWriter.open(file)) {
+            writer.writeInt(2);
+            writer.writeInt(0);
+            writer.writeInt(10);
+            writer.endLine();
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            assertEquals("2 0 10\n", out.toString());
+        }
+    }
+}
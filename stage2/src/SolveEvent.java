@@ -0,0 +1,53 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event with the counts and phase times of one solve.
+ */
+@Name("hashcode.Solve")
+@Label("Solve")
+@Category("Hash Code")
+@Description("The work done by one run of a solver")
+public class SolveEvent extends Event
+{
+    @Label("Solver")
+    String solver;
+
+    @Label("Ticks Processed")
+    long ticks;
+
+    @Label("Rides Scanned")
+    long ridesScanned;
+
+    @Label("Feasible Rides")
+    long feasibleRides;
+
+    @Label("Rides Expired")
+    long ridesExpired;
+
+    @Label("Assignments")
+    long assignments;
+
+    @Label("Idle Vehicle-Steps")
+    long idleVehicleSteps;
+
+    @Label("Calendar Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long calendarTime;
+
+    @Label("Search Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long searchTime;
+
+    @Label("Assign Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long assignTime;
+
+    @Label("Total Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long totalTime;
+}
@@ -0,0 +1,170 @@
+import java.io.PrintStream;
+
+/**
+ * Count the work a solver does, and time its phases, so that inputs that make the search for rides explode
+ * can be spotted. The counts are plain fields added to on the hot path, which costs next to nothing.
+ * At the end of a solve they are recorded as a SolveEvent for Java Flight Recorder,
+ * and can also be printed as a summary.
+ * Nothing is recorded unless a recording that enables the event is running when the event is committed,
+ * for example one started with -XX:StartFlightRecording.
+ */
+public class SolverStats
+{
+    // Number of steps, or of free vehicles for the event-driven solver, processed
+    private long ticks;
+    // Number of rides looked at while searching for the rides a vehicle could take
+    private long ridesScanned;
+    // Number of rides a vehicle could take, found by the searches
+    private long feasibleRides;
+    // Number of rides removed because they could no longer be started in time
+    private long ridesExpired;
+    // Number of rides assigned to a vehicle
+    private long assignments;
+    // Number of times a free vehicle was left without a ride at a step
+    private long idleVehicleSteps;
+    // Nanoseconds spent releasing and expiring rides, searching for rides, and assigning them
+    private long calendarTime;
+    private long searchTime;
+    private long assignTime;
+    // Nanoseconds spent in the whole solve
+    private long totalTime;
+
+    /**
+     * Constructor of SolverStats, with every count 0.
+     */
+    public SolverStats() {
+    }
+
+    public void addTick() {
+        ticks++;
+    }
+
+    public void addRidesScanned(int count) {
+        ridesScanned += count;
+    }
+
+    public void addFeasibleRides(int count) {
+        feasibleRides += count;
+    }
+
+    public void addRidesExpired(int count) {
+        ridesExpired += count;
+    }
+
+    public void addAssignment() {
+        assignments++;
+    }
+
+    public void addIdleVehicleStep() {
+        idleVehicleSteps++;
+    }
+
+    public void addCalendarTime(long nanos) {
+        calendarTime += nanos;
+    }
+
+    public void addSearchTime(long nanos) {
+        searchTime += nanos;
+    }
+
+    public void addAssignTime(long nanos) {
+        assignTime += nanos;
+    }
+
+    /**
+     * Add the counts of another SolverStats, such as the one of a thread that searched for some of the vehicles,
+     * and leave its times out.
+     *
+     * @param other The counts to be added
+     */
+    public void addCounts(SolverStats other) {
+        ridesScanned += other.ridesScanned;
+        feasibleRides += other.feasibleRides;
+        ridesExpired += other.ridesExpired;
+        assignments += other.assignments;
+        idleVehicleSteps += other.idleVehicleSteps;
+    }
+
+    /**
+     * Set every count back to 0, keeping the times.
+     */
+    public void clearCounts() {
+        ridesScanned = 0;
+        feasibleRides = 0;
+        ridesExpired = 0;
+        assignments = 0;
+        idleVehicleSteps = 0;
+    }
+
+    /**
+     * Record the end of a solve, as a SolveEvent if a Java Flight Recorder recording enables it.
+     *
+     * @param solver The name of the solver
+     * @param start The value of System.nanoTime when the solve started
+     */
+    public void finish(String solver, long start) {
+        totalTime = System.nanoTime() - start;
+        SolveEvent event = new SolveEvent();
+        if (event.shouldCommit()) {
+            event.solver = solver;
+            event.ticks = ticks;
+            event.ridesScanned = ridesScanned;
+            event.feasibleRides = feasibleRides;
+            event.ridesExpired = ridesExpired;
+            event.assignments = assignments;
+            event.idleVehicleSteps = idleVehicleSteps;
+            event.calendarTime = calendarTime;
+            event.searchTime = searchTime;
+            event.assignTime = assignTime;
+            event.totalTime = totalTime;
+            event.commit();
+        }
+    }
+
+    /**
+     * Print the counts and the time of each phase, one per line.
+     *
+     * @param out The stream the summary is printed to
+     */
+    public void printSummary(PrintStream out) {
+        out.println("ticks processed:    " + ticks);
+        out.println("rides scanned:      " + ridesScanned);
+        out.println("feasible rides:     " + feasibleRides);
+        out.println("rides expired:      " + ridesExpired);
+        out.println("assignments:        " + assignments);
+        out.println("idle vehicle-steps: " + idleVehicleSteps);
+        out.println("calendar time (ms): " + calendarTime / 1_000_000);
+        out.println("search time (ms):   " + searchTime / 1_000_000);
+        out.println("assign time (ms):   " + assignTime / 1_000_000);
+        out.println("total time (ms):    " + totalTime / 1_000_000);
+    }
+
+    // Getters for each count
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getRidesScanned() {
+        return ridesScanned;
+    }
+
+    public long getFeasibleRides() {
+        return feasibleRides;
+    }
+
+    public long getRidesExpired() {
+        return ridesExpired;
+    }
+
+    public long getAssignments() {
+        return assignments;
+    }
+
+    public long getIdleVehicleSteps() {
+        return idleVehicleSteps;
+    }
+
+    public long getAssignTime() {
+        return assignTime;
+    }
+}
@@ -0,0 +1,145 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+
+public class SolverStatsTest {
+
+    private Path file;
+    private World world;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // The example of the problem statement
+        file = Files.createTempFile("world", ".in");
+        Files.write(file, "3 4 2 3 2 10\n0 0 1 3 2 9\n1 2 1 0 0 9\n2 0 2 2 0 9\n".getBytes());
+        world = new World(file.toString());
+        world.initialise();
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test that every ride of the example is counted as assigned, and the steps it took are counted
+     */
+    @Test
+    public void testSolveCounts() {
+        world.solve();
+        SolverStats stats = world.getStats();
+        assertEquals(3, stats.getAssignments());
+        assertEquals(10, world.score());
+        assertTrue(stats.getTicks() > 0);
+        assertTrue(stats.getRidesScanned() >= stats.getFeasibleRides());
+        assertTrue(stats.getFeasibleRides() >= stats.getAssignments());
+    }
+
+    @Test
+    public void testEventDrivenCounts() {
+        world.solveEventDriven();
+        assertEquals(3, world.getStats().getAssignments());
+    }
+
+    @Test
+    public void testConcurrentCounts() {
+        world.solveConcurrent();
+        assertEquals(3, world.getStats().getAssignments());
+        assertEquals(10, world.score());
+    }
+
+    /**
+     * Test that adding the counts of another SolverStats adds every count, and clearing them sets them back to 0
+     */
+    @Test
+    public void testAddAndClearCounts() {
+        SolverStats other = new SolverStats();
+        other.addRidesScanned(5);
+        other.addFeasibleRides(3);
+        other.addAssignment();
+        other.addIdleVehicleStep();
+        SolverStats stats = new SolverStats();
+        stats.addRidesScanned(1);
+        stats.addCounts(other);
+        assertEquals(6, stats.getRidesScanned());
+        assertEquals(3, stats.getFeasibleRides());
+        assertEquals(1, stats.getAssignments());
+        assertEquals(1, stats.getIdleVehicleSteps());
+        other.clearCounts();
+        assertEquals(0, other.getRidesScanned());
+        assertEquals(0, other.getAssignments());
+    }
+
+    @Test
+    public void testPrintSummary() {
+        world.solve();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        world.getStats().printSummary(new PrintStream(out));
+        assertTrue(out.toString().contains("assignments:        3"));
+    }
+
+    /**
+     * Test that a solve is recorded only while a recording enables its events, whether or not Java Flight Recorder
+     * has been started before
+     */
+    @Test
+    public void testRecordedOnlyWhileEnabled() throws Exception {
+        Path dump = Files.createTempFile("solve", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("hashcode.Solve");
+                recording.enable("hashcode.Tick").withoutThreshold();
+                recording.start();
+                world.solve();
+                recording.stop();
+                recording.dump(dump);
+            }
+            assertEquals(1, countEvents(dump, "hashcode.Solve"));
+            assertTrue(countEvents(dump, "hashcode.Tick") > 0);
+            // Java Flight Recorder is still initialised, but the new recording disables the solve event
+            try (Recording recording = new Recording()) {
+                recording.disable("hashcode.Solve");
+                recording.enable("hashcode.Tick").withoutThreshold();
+                recording.start();
+                world.solve();
+                recording.stop();
+                recording.dump(dump);
+            }
+            assertEquals(0, countEvents(dump, "hashcode.Solve"));
+            assertTrue(countEvents(dump, "hashcode.Tick") > 0);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static int countEvents(Path dump, String name) throws Exception {
+        int count = 0;
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (event.getEventType().getName().equals(name)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
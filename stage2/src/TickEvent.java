@@ -0,0 +1,30 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event for one step of a solver. Only steps that take longer than the threshold,
+ * 1 ms unless the recording settings say otherwise, are recorded, which points at where the search explodes.
+ */
+@Name("hashcode.Tick")
+@Label("Tick")
+@Category("Hash Code")
+@Description("One step of a solver")
+@Threshold("1 ms")
+public class TickEvent extends Event
+{
+    @Label("Step")
+    int step;
+
+    @Label("Free Vehicles")
+    int freeVehicles;
+
+    @Label("Pending Rides")
+    int pendingRides;
+
+    @Label("Rides Scanned")
+    long ridesScanned;
+}
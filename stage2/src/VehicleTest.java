@@ -1,74 +0,0 @@
-import org.junit.After;
-import org.junit.Before;
-import org.junit.Test;
-
-public class VehicleTest {
-
-    @Before
-    public void setUp() throws Exception {
-    }
-
-    @After
-    public void tearDown() throws Exception {
-    }
-
-    @Test
-    public void distanceOfRide() {
-    }
-
-    @Test
-    public void distanceToRideStart() {
-    }
-
-    @Test
-    public void waitTime() {
-    }
-
-    @Test
-    public void arrival() {
-    }
-
-    @Test
-    public void canStartOnTime() {
-    }
-
-    @Test
-    public void canFinishInTime() {
-    }
-
-    @Test
-    public void assignRide() {
-    }
-
-    @Test
-    public void getRides() {
-    }
-
-    @Test
-    public void setRides() {
-    }
-
-    @Test
-    public void getCurrentStep() {
-    }
-
-    @Test
-    public void setCurrentStep() {
-    }
-
-    @Test
-    public void getX() {
-    }
-
-    @Test
-    public void setX() {
-    }
-
-    @Test
-    public void getY() {
-    }
-
-    @Test
-    public void setY() {
-    }
-}
\ No newline at end of file
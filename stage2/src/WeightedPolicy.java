@@ -0,0 +1,40 @@
+/**
+ * Choose rides by a weighted sum of what a ride earns and the time the vehicle spends getting to it.
+ * The cost of a ride is the empty travel and the waiting, each times its weight,
+ * less the distance and the bonus earned, each times its weight.
+ */
+public class WeightedPolicy implements RidePolicy
+{
+    // Weight of the distance of the ride
+    private int distanceWeight;
+    // Weight of the distance driven to the starting point
+    private int emptyTravelWeight;
+    // Weight of the steps spent waiting at the starting point
+    private int waitingWeight;
+    // Weight of the bonus, if the ride can be started on time
+    private int bonusWeight;
+
+    /**
+     * Constructor of WeightedPolicy
+     *
+     * @param distanceWeight Weight of the distance of the ride
+     * @param emptyTravelWeight Weight of the distance driven to the starting point
+     * @param waitingWeight Weight of the steps spent waiting at the starting point
+     * @param bonusWeight Weight of the bonus, if the ride can be started on time
+     */
+    public WeightedPolicy(int distanceWeight, int emptyTravelWeight, int waitingWeight, int bonusWeight) {
+        this.distanceWeight = distanceWeight;
+        this.emptyTravelWeight = emptyTravelWeight;
+        this.waitingWeight = waitingWeight;
+        this.bonusWeight = bonusWeight;
+    }
+
+    @Override
+    public long cost(RideTable rides, int rid, int freeAt, int arrival, int bonus) {
+        int earliestStart = rides.getEarliestStart(rid);
+        int waiting = Math.max(0, earliestStart - arrival);
+        int bonusEarned = arrival <= earliestStart ? bonus : 0;
+        return (long) emptyTravelWeight * (arrival - freeAt) + (long) waitingWeight * waiting
+                - (long) distanceWeight * rides.getDistance(rid) - (long) bonusWeight * bonusEarned;
+    }
+}
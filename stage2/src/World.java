@@ -1,13 +1,30 @@
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Run the simulation by asking a collective of actors to act.
  */
 public class World
 {
+    // Number of cheapest rides of each vehicle that are considered in a batch assignment
+    private static final int BATCH_CANDIDATES = 8;
+    // Most successors kept for each ride in the ride graph
+    private static final int GRAPH_SUCCESSORS = 16;
+    // One in this many assigned rides is taken out when the local search is restarted
+    private static final int PERTURBATION_FRACTION = 50;
+    // Fewest free vehicles at a step for the concurrent solver to search for them in parallel
+    private static final int MIN_PARALLEL_VEHICLES = 16;
+    // Most rounds of the chain cover solver
+    private static final int CHAIN_ROUNDS = 10;
+    // The planned start of a ride that is in no route, in quarters of the way from its earliest start to its latest
+    // start, for each round in turn
+    private static final int[] PLAN_QUARTERS = {0, 4, 2};
+
     // Number of rows of the grid
     private int rows;
     // Number of columns of the grid
@@ -17,15 +34,27 @@ public class World
     // Number of rides
     private int noOfRides;
     // All the vehicles in this world
-    private List<Vehicle> fleet;
+    private FleetTable fleet;
     // All the rides in this world
-    private List<Ride> rides;
+    private RideTable rides;
+    // Rides that have not been assigned or expired yet, indexed by pickup location
+    private RideGrid pendingRides;
+    // Buffer for the IDs of the rides found in the grid
+    private int[] candidates;
+    // Buffer for the IDs of the rides a vehicle could take
+    private int[] feasible;
+    // The first step at which the last search of each vehicle could find a different ride, set by findFeasibleRides
+    private int[] nextSearch;
     // Per-ride bonus for starting the ride on time
     private int bonus;
     // Number of steps in the simulation
     private int noOfSteps;
     // private List<int[]> allocationArray;
     private String worldAndRidesFileName;
+    // The rule for choosing the best ride for a vehicle
+    private RidePolicy policy;
+    // The work done by the last solve
+    private SolverStats stats;
 
     /**
      * Constructor of World
@@ -35,154 +64,1061 @@ public class World
         cols = 0;
         totalNoOfVehicles = 0;
         noOfRides = 0;
-        fleet = new ArrayList<>(totalNoOfVehicles);
-        rides = new ArrayList<>();
+        rides = new RideTable(noOfRides);
+        fleet = new FleetTable(totalNoOfVehicles, rides);
         bonus = 0;
         noOfSteps = 0;
         // allocationArray = new ArrayList<>();
         this.worldAndRidesFileName = worldAndRidesFileName;
+        policy = RidePolicy.SHORTEST_RIDE;
+        stats = new SolverStats();
+    }
+
+    /**
+     * Create a copy of a world that shares its rides, with a fleet that has no rides assigned yet.
+     *
+     * @param other The world to be copied
+     * @param policy The rule for choosing the best ride for a vehicle
+     */
+    private World(World other, RidePolicy policy) {
+        rows = other.rows;
+        cols = other.cols;
+        totalNoOfVehicles = other.totalNoOfVehicles;
+        noOfRides = other.noOfRides;
+        rides = other.rides;
+        fleet = new FleetTable(totalNoOfVehicles, rides);
+        bonus = other.bonus;
+        noOfSteps = other.noOfSteps;
+        worldAndRidesFileName = other.worldAndRidesFileName;
+        this.policy = policy;
+        stats = new SolverStats();
     }
 
     /**
      * Creating all vehicles and rides according to the input file.
      */
     public void initialise() {
+        if (BinaryWorld.isBinary(worldAndRidesFileName)) {
+            initialiseFromBinary();
+            return;
+        }
         InputReader inputReader = new InputReader();
-        ArrayList<int[]> file = inputReader.parseInput(worldAndRidesFileName);
-        // For each line in the file
-        for (int i = 0; i < file.size(); i++) {
-            int[] line = file.get(i);
-            // If it is the first line
-            if (i == 0) {
-                rows = line[0];
-                cols = line[1];
-                totalNoOfVehicles = line[2];
-                noOfRides = line[3];
-                bonus = line[4];
-                noOfSteps = line[5];
-                fleet = new ArrayList<>(totalNoOfVehicles);
-                // Create new vehicles in the fleet
-                for (int j = 0; j < totalNoOfVehicles; j++) {
-                    // Create new Vehicle object
-                    Vehicle vehicle = new Vehicle(j);
-                    fleet.add(vehicle);
-                }
-            } else {
-                int x1 = line[0];
-                int y1 = line[1];
-                int x2 = line[2];
-                int y2 = line[3];
-                int earliestStart = line[4];
-                int latestFinish = line[5];
-                Ride ride = new Ride(i - 1, new Location(x1, y1), new Location(x2, y2), earliestStart, latestFinish);
-                rides.add(ride);
-            }
+        int[] file = inputReader.parseWorld(worldAndRidesFileName);
+        if (file.length < InputReader.HEADER_LENGTH) {
+            return;
+        }
+        // The first line
+        rows = file[0];
+        cols = file[1];
+        totalNoOfVehicles = file[2];
+        noOfRides = file[3];
+        bonus = file[4];
+        noOfSteps = file[5];
+        rides = new RideTable(noOfRides);
+        // Create new vehicles in the fleet
+        fleet = new FleetTable(totalNoOfVehicles, rides);
+        // For each ride line in the file
+        for (int i = InputReader.HEADER_LENGTH; i < file.length; i += InputReader.RIDE_LENGTH) {
+            int x1 = file[i];
+            int y1 = file[i + 1];
+            int x2 = file[i + 2];
+            int y2 = file[i + 3];
+            int earliestStart = file[i + 4];
+            int latestFinish = file[i + 5];
+            rides.add(x1, y1, x2, y2, earliestStart, latestFinish);
+        }
+    }
+
+    /**
+     * Creating all vehicles and rides from a binary world, without parsing it.
+     */
+    private void initialiseFromBinary() {
+        BinaryWorld world;
+        try {
+            world = BinaryWorld.open(worldAndRidesFileName);
+        } catch (IOException e) {
+            System.err.print("A problem was encountered reading the file: " + e.getMessage());
+            return;
         }
+        rows = world.getHeader(BinaryWorld.ROWS);
+        cols = world.getHeader(BinaryWorld.COLS);
+        totalNoOfVehicles = world.getHeader(BinaryWorld.VEHICLES);
+        noOfRides = world.getHeader(BinaryWorld.RIDES);
+        bonus = world.getHeader(BinaryWorld.BONUS);
+        noOfSteps = world.getHeader(BinaryWorld.STEPS);
+        rides = new RideTable(world);
+        fleet = new FleetTable(totalNoOfVehicles, rides);
     }
 
     /**
      * Print out the solution to console
      */
     public void printSolution() {
-        for (Vehicle vehicle: fleet) {
-            List<Ride> ridesAssigned = vehicle.getRides();
-            System.out.print(ridesAssigned.size());
-            for (Ride ride: ridesAssigned) {
-                System.out.print(" " + ride.getRid());
+        try {
+            writeSolution(new SolutionWriter(System.out));
+        } catch (IOException e) {
+            System.err.println("A problem was encountered writing the solution: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the solution to a file, gzip-compressed if the name of the file ends in .gz.
+     *
+     * @param fileName The name of the file
+     * @throws IOException If the file cannot be written
+     */
+    public void writeSolution(String fileName) throws IOException {
+        try (SolutionWriter writer = SolutionWriter.open(Paths.get(fileName))) {
+            writeSolution(writer);
+        }
+    }
+
+    /**
+     * Write the solution, one line per vehicle with the number of rides followed by the ride IDs, and flush it.
+     *
+     * @param writer Where the solution is written
+     * @throws IOException If the solution cannot be written
+     */
+    public void writeSolution(SolutionWriter writer) throws IOException {
+        for (int vehicle = 0; vehicle < fleet.size(); vehicle++) {
+            int noOfRidesAssigned = fleet.getRouteLength(vehicle);
+            writer.writeInt(noOfRidesAssigned);
+            for (int i = 0; i < noOfRidesAssigned; i++) {
+                writer.writeInt(fleet.getRide(vehicle, i));
             }
-            System.out.println();
+            writer.endLine();
         }
+        writer.flush();
+    }
+
+    /**
+     * Replace the allocation with one read from a file in the format written by writeSolution, such as a checkpoint.
+     * The file must not be compressed.
+     *
+     * @param fileName The name of the file
+     * @throws IOException If the file cannot be read, or does not hold an allocation for this world
+     */
+    public void loadSolution(String fileName) throws IOException {
+        RouteScorer scorer = new RouteScorer(rides, bonus, noOfSteps, fleet.size());
+        boolean[] assigned = new boolean[rides.size()];
+        try (MappedFileReader reader = new MappedFileReader(fileName)) {
+            int vehicle = 0;
+            for (int count = reader.nextLine(); count >= 0; count = reader.nextLine()) {
+                int[] line = reader.getLine();
+                if (vehicle == fleet.size()) {
+                    throw new IOException("There are more lines than the " + fleet.size() + " vehicles");
+                }
+                if (line[0] != count - 1) {
+                    throw new IOException("Line " + (vehicle + 1) + " has " + (count - 1) + " rides instead of " + line[0]);
+                }
+                for (int i = 1; i < count; i++) {
+                    int rid = line[i];
+                    if (rid < 0 || rid >= rides.size() || assigned[rid]) {
+                        throw new IOException("Line " + (vehicle + 1) + " has an unknown or repeated ride " + rid);
+                    }
+                    assigned[rid] = true;
+                }
+                scorer.setRoute(vehicle, Arrays.copyOfRange(line, 1, count), count - 1);
+                vehicle++;
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        adoptRoutes(scorer);
     }
 
     /**
      * Solve by sorting Car Time
      */
     public void solve() {
-        // Sort all rides in order
-        Collections.sort(rides);
+        long start = System.nanoTime();
+        stats = new SolverStats();
+        pendingRides = new RideGrid(rows, cols, rides.size());
+        candidates = new int[rides.size()];
+        feasible = new int[rides.size()];
+        nextSearch = new int[fleet.size()];
+        RideCalendar calendar = new RideCalendar(rides, noOfSteps);
+        // Vehicles in order of the step at which they are free. On a tie, the vehicles that took a ride at a later
+        // step come first, then those that took a ride at the same step in the order they took it, as when the
+        // whole fleet was sorted again at every step keeping the current order on a tie
+        FleetQueue fleetOrder = new FleetQueue(fleet.size());
+        for (int vehicle = 0; vehicle < fleet.size(); vehicle++) {
+            fleetOrder.add(vehicle, fleet.getFreeAt(vehicle), vehicle);
+        }
+        // Idle vehicles that cannot find a ride before a later step. They keep their tie-break in the fleet order
+        IdleVehicles idleVehicles = new IdleVehicles(fleet.size());
+        int[] woken = new int[fleet.size()];
+        int[] freeOrder = new int[fleet.size()];
         // Keep track of current step
         int currentStep = -1;
-        // While there are rides in the list
-        while (rides.size() > 0) {
-            // Sort all vehicles in order
-            Collections.sort(fleet);
+        // While there are rides left and steps left in the simulation
+        while ((calendar.hasUnreleasedRides() || !pendingRides.isEmpty()) && currentStep < noOfSteps - 1) {
+            TickEvent tick = startTick();
+            long ridesScanned = stats.getRidesScanned();
+            long calendarStart = System.nanoTime();
             currentStep++;
-            // If current step is less than number of steps in the simulation then continue
-            if (currentStep < noOfSteps) {
-                // Remove impossible rides in each step to increase searching speed
-                removeImpossibleRide(currentStep);
-                for (Vehicle vehicle : fleet) {
-                    // If this car can do those rides in time, find the best ride in each step
-                    if (vehicle.getCurrentStep() <= currentStep) {
-                        findBestRide(currentStep, vehicle);
+            // Only rides that can be started now and can still be finished in time are pending
+            advanceCalendar(calendar, currentStep, idleVehicles);
+            long searchStart = System.nanoTime();
+            stats.addCalendarTime(searchStart - calendarStart);
+            long assignTime = stats.getAssignTime();
+            // Idle vehicles are searched again once a ride could have come within reach or been released
+            int noOfWoken = idleVehicles.wakeUntil(currentStep, woken);
+            for (int i = 0; i < noOfWoken; i++) {
+                fleetOrder.add(woken[i], fleet.getFreeAt(woken[i]), fleetOrder.getTie(woken[i]));
+            }
+            // Only the vehicles that are free leave the queue
+            int freeVehicles = 0;
+            while (!fleetOrder.isEmpty() && fleetOrder.getFreeAt(fleetOrder.peek()) <= currentStep) {
+                freeOrder[freeVehicles++] = fleetOrder.poll();
+            }
+            for (int i = 0; i < freeVehicles; i++) {
+                // If this car can do those rides in time, find the best ride in each step
+                int vehicle = freeOrder[i];
+                long tie = fleetOrder.getTie(vehicle);
+                findBestRide(currentStep, vehicle);
+                if (fleet.getFreeAt(vehicle) > currentStep) {
+                    tie = -(currentStep + 1L) * fleet.size() + i;
+                    fleetOrder.add(vehicle, fleet.getFreeAt(vehicle), tie);
+                } else if (!becomesIdle(vehicle, currentStep, idleVehicles)) {
+                    fleetOrder.add(vehicle, fleet.getFreeAt(vehicle), tie);
+                }
+            }
+            stats.addSearchTime(System.nanoTime() - searchStart - (stats.getAssignTime() - assignTime));
+            stats.addTick();
+            commitTick(tick, currentStep, freeVehicles, stats.getRidesScanned() - ridesScanned);
+        }
+        stats.finish("tick", start);
+    }
+
+    /**
+     * Release the rides that can be started at this step and expire the rides that can no longer be started in time,
+     * then bring forward the step at which each idle vehicle is searched again to the step at which it could take
+     * a ride that has just been released.
+     *
+     * @param calendar The time windows of the rides
+     * @param currentStep The current step of the simulation
+     * @param idleVehicles The idle vehicles
+     */
+    private void advanceCalendar(RideCalendar calendar, int currentStep, IdleVehicles idleVehicles) {
+        int released = calendar.getReleased();
+        calendar.releaseUntil(currentStep, pendingRides);
+        stats.addRidesExpired(calendar.expireBefore(currentStep, pendingRides));
+        for (int i = released; i < calendar.getReleased(); i++) {
+            int ride = calendar.getReleaseOrder()[i];
+            if (pendingRides.contains(ride)) {
+                wakeIdleVehicles(ride, idleVehicles);
+            }
+        }
+    }
+
+    /**
+     * Bring forward the step at which each idle vehicle is searched again to the step at which it could take a ride.
+     *
+     * @param ride The ID of the ride released
+     * @param idleVehicles The idle vehicles
+     */
+    private void wakeIdleVehicles(int ride, IdleVehicles idleVehicles) {
+        int earliestStart = rides.getEarliestStart(ride);
+        int latestFinish = rides.getLatestFinish(ride);
+        for (int i = 0; i < idleVehicles.size(); i++) {
+            int vehicle = idleVehicles.get(i);
+            // The same conditions as findFeasibleRides, the ride can be taken once it is reached and released
+            int vehicleToStart = fleet.getFreeAt(vehicle) + fleet.distanceToRideStart(vehicle, ride);
+            int startTime = Math.max(vehicleToStart, earliestStart);
+            if (vehicleToStart <= latestFinish && startTime + rides.getDistance(ride) < latestFinish) {
+                idleVehicles.wake(vehicle, startTime);
+            }
+        }
+    }
+
+    /**
+     * Make a vehicle that is still free after its search idle, if the search would find no ride again before a
+     * later step. Until then, it would only find one if a ride it can take is released.
+     *
+     * @param vehicle The ID of the vehicle, searched for by findFeasibleRides at this step
+     * @param currentStep The current step of the simulation
+     * @param idleVehicles The idle vehicles
+     * @return true if the vehicle was made idle, false otherwise
+     */
+    private boolean becomesIdle(int vehicle, int currentStep, IdleVehicles idleVehicles) {
+        if (fleet.getFreeAt(vehicle) > currentStep || nextSearch[vehicle] <= currentStep + 1) {
+            return false;
+        }
+        idleVehicles.add(vehicle, nextSearch[vehicle]);
+        return true;
+    }
+
+    /**
+     * Solve by stepping through the simulation like solve, but at each step the vehicles that are free share out
+     * the rides between them, instead of each vehicle in turn taking its best ride.
+     * Each vehicle is matched to one of its cheapest feasible rides so that as many vehicles as possible get a ride
+     * at the lowest total cost, where the cost is the empty travel, the waiting and the bonus lost.
+     * Like in solve, a vehicle that found no ride is left out of the matching until a ride it could take has come
+     * within its reach or been released.
+     */
+    public void solveBatch() {
+        long start = System.nanoTime();
+        stats = new SolverStats();
+        pendingRides = new RideGrid(rows, cols, rides.size());
+        candidates = new int[rides.size()];
+        feasible = new int[rides.size()];
+        nextSearch = new int[fleet.size()];
+        RideCalendar calendar = new RideCalendar(rides, noOfSteps);
+        MinCostMatching matching = new MinCostMatching(rides.size());
+        // Cost and ID of each feasible ride of a vehicle, packed so that sorting them sorts by cost then ID
+        long[] costs = new long[rides.size()];
+        // Free vehicles that cannot find a ride before a later step are left out of the matching until then
+        IdleVehicles idleVehicles = new IdleVehicles(fleet.size());
+        int[] woken = new int[fleet.size()];
+        // Keep track of current step
+        int currentStep = -1;
+        while ((calendar.hasUnreleasedRides() || !pendingRides.isEmpty()) && currentStep < noOfSteps - 1) {
+            TickEvent tick = startTick();
+            long ridesScanned = stats.getRidesScanned();
+            long calendarStart = System.nanoTime();
+            currentStep++;
+            advanceCalendar(calendar, currentStep, idleVehicles);
+            long searchStart = System.nanoTime();
+            stats.addCalendarTime(searchStart - calendarStart);
+            idleVehicles.wakeUntil(currentStep, woken);
+            matching.clear();
+            int freeVehicles = 0;
+            for (int vehicle = 0; vehicle < fleet.size(); vehicle++) {
+                if (fleet.getFreeAt(vehicle) > currentStep || idleVehicles.contains(vehicle)) {
+                    continue;
+                }
+                freeVehicles++;
+                int count = findFeasibleRides(currentStep, vehicle, candidates, feasible, stats);
+                if (count == 0) {
+                    stats.addIdleVehicleStep();
+                    becomesIdle(vehicle, currentStep, idleVehicles);
+                    continue;
+                }
+                for (int i = 0; i < count; i++) {
+                    costs[i] = (batchCost(vehicle, feasible[i]) << 32) | feasible[i];
+                }
+                Arrays.sort(costs, 0, count);
+                matching.addVehicle(vehicle);
+                for (int i = 0; i < Math.min(count, BATCH_CANDIDATES); i++) {
+                    matching.addEdge((int) costs[i], costs[i] >>> 32);
+                }
+            }
+            long assignStart = System.nanoTime();
+            stats.addSearchTime(assignStart - searchStart);
+            matching.solve();
+            for (int i = 0; i < matching.getNoOfVehicles(); i++) {
+                int vehicle = matching.getVehicle(i);
+                int ride = matching.getMatch(i);
+                if (ride >= 0) {
+                    addBestRide(vehicle, ride, startTime(vehicle, ride));
+                } else {
+                    stats.addIdleVehicleStep();
+                }
+            }
+            // The time of the matching counts as assigning, like the time of each assignment
+            stats.addAssignTime(System.nanoTime() - assignStart);
+            stats.addTick();
+            commitTick(tick, currentStep, freeVehicles, stats.getRidesScanned() - ridesScanned);
+        }
+        stats.finish("batch", start);
+    }
+
+    /**
+     * Solve by stepping through the simulation like solve, but search for a ride for all the free vehicles of a step
+     * at the same time. During the search the pending rides are only read, and a vehicle takes its best ride by
+     * claiming it with a compare-and-set on the owner of the ride, so no lock is needed. A vehicle that loses the race
+     * for a ride to another vehicle goes on to its next best ride. The claimed rides are removed from the pending
+     * rides once every vehicle of the step has been searched for.
+     * Which vehicle wins a race depends on the threads, so the allocation can change from run to run, but no ride is
+     * ever given to two vehicles.
+     * Like in solve, a vehicle that found no ride is not dispatched again until a ride it could take has come within
+     * its reach or been released.
+     */
+    public void solveConcurrent() {
+        long start = System.nanoTime();
+        stats = new SolverStats();
+        pendingRides = new RideGrid(rows, cols, rides.size());
+        RideCalendar calendar = new RideCalendar(rides, noOfSteps);
+        nextSearch = new int[fleet.size()];
+        // The vehicle that claimed each ride plus 1, or 0 if no vehicle has claimed it
+        AtomicIntegerArray claims = new AtomicIntegerArray(rides.size());
+        // One dispatcher per core, since each holds buffers as large as the rides
+        int noOfDispatchers = Math.max(1, Math.min(fleet.size(), Runtime.getRuntime().availableProcessors()));
+        Dispatcher[] dispatchers = new Dispatcher[noOfDispatchers];
+        for (int i = 0; i < noOfDispatchers; i++) {
+            dispatchers[i] = new Dispatcher(rides.size(), fleet.size());
+        }
+        int[] freeVehicles = new int[fleet.size()];
+        // Free vehicles that cannot find a ride before a later step are not dispatched until then
+        IdleVehicles idleVehicles = new IdleVehicles(fleet.size());
+        int[] woken = new int[fleet.size()];
+        // Keep track of current step
+        int currentStep = -1;
+        while ((calendar.hasUnreleasedRides() || !pendingRides.isEmpty()) && currentStep < noOfSteps - 1) {
+            TickEvent tick = startTick();
+            long ridesScanned = stats.getRidesScanned();
+            long calendarStart = System.nanoTime();
+            currentStep++;
+            advanceCalendar(calendar, currentStep, idleVehicles);
+            long searchStart = System.nanoTime();
+            stats.addCalendarTime(searchStart - calendarStart);
+            idleVehicles.wakeUntil(currentStep, woken);
+            // Only the vehicles that are searched for are shared out between the dispatchers
+            int noOfFree = 0;
+            for (int vehicle = 0; vehicle < fleet.size(); vehicle++) {
+                if (fleet.getFreeAt(vehicle) <= currentStep && !idleVehicles.contains(vehicle)) {
+                    freeVehicles[noOfFree++] = vehicle;
+                }
+            }
+            int step = currentStep;
+            int free = noOfFree;
+            if (free < MIN_PARALLEL_VEHICLES) {
+                for (int i = 0; i < free; i++) {
+                    dispatch(step, freeVehicles[i], dispatchers[0], claims);
+                }
+            } else {
+                int chunkSize = (free + noOfDispatchers - 1) / noOfDispatchers;
+                IntStream.range(0, noOfDispatchers).parallel().forEach(d -> {
+                    for (int i = d * chunkSize; i < Math.min(free, (d + 1) * chunkSize); i++) {
+                        dispatch(step, freeVehicles[i], dispatchers[d], claims);
                     }
+                });
+            }
+            for (int i = 0; i < free; i++) {
+                becomesIdle(freeVehicles[i], step, idleVehicles);
+            }
+            long assignStart = System.nanoTime();
+            stats.addSearchTime(assignStart - searchStart);
+            for (Dispatcher dispatcher : dispatchers) {
+                for (int i = 0; i < dispatcher.noOfClaimed; i++) {
+                    pendingRides.remove(dispatcher.claimed[i]);
                 }
+                dispatcher.noOfClaimed = 0;
+                stats.addCounts(dispatcher.counts);
+                dispatcher.counts.clearCounts();
+            }
+            stats.addAssignTime(System.nanoTime() - assignStart);
+            stats.addTick();
+            commitTick(tick, currentStep, noOfFree, stats.getRidesScanned() - ridesScanned);
+        }
+        stats.finish("concurrent", start);
+    }
+
+    /**
+     * Solve by jumping straight to the next step at which a vehicle becomes free,
+     * instead of stepping through every step of the simulation.
+     * Vehicles are kept in a priority queue ordered by the step at which they are free, so the work done
+     * depends on the number of assignments rather than the number of steps.
+     * Rides that can be started by the current step are released into the grid, where the nearest are found first.
+     * The rides that cannot be started yet stay in order of earliest start, from where only those that could start
+     * before the best ride found in the grid are read.
+     */
+    public void solveEventDriven() {
+        long start = System.nanoTime();
+        stats = new SolverStats();
+        pendingRides = new RideGrid(rows, cols, rides.size());
+        candidates = new int[rides.size()];
+        RideCalendar calendar = new RideCalendar(rides, noOfSteps);
+        int[] cells = rides.getLocations().cellsIn(pendingRides);
+        int[] ridesInOrder = calendar.getReleaseOrder();
+        // The rides not released yet are linked by position, from 1, with 0 marking both the head and the end,
+        // so that releasing or assigning a ride unlinks it instead of shifting the rest of the order
+        int[] nextInOrder = new int[ridesInOrder.length + 1];
+        for (int position = 0; position < ridesInOrder.length; position++) {
+            nextInOrder[position] = position + 1;
+        }
+        // Vehicles in order of the step at which they are free, by vehicle ID on a tie
+        FleetQueue freeVehicles = new FleetQueue(fleet.size());
+        for (int vehicle = 0; vehicle < fleet.size(); vehicle++) {
+            freeVehicles.add(vehicle, fleet.getFreeAt(vehicle), vehicle);
+        }
+        // Keep track of current step
+        int currentStep = -1;
+        while (!freeVehicles.isEmpty() && (nextInOrder[0] != 0 || !pendingRides.isEmpty())) {
+            int vehicle = freeVehicles.peek();
+            // No ride can be finished once the simulation is over
+            if (fleet.getFreeAt(vehicle) >= noOfSteps) {
+                break;
+            }
+            stats.addTick();
+            // Time only moves forward, so rides only need to be released and pruned when it does
+            if (fleet.getFreeAt(vehicle) > currentStep) {
+                long calendarStart = System.nanoTime();
+                currentStep = fleet.getFreeAt(vehicle);
+                releaseInOrder(currentStep, ridesInOrder, nextInOrder, cells);
+                stats.addRidesExpired(calendar.expireBefore(currentStep, pendingRides));
+                stats.addCalendarTime(System.nanoTime() - calendarStart);
+            }
+            long searchStart = System.nanoTime();
+            long assignTime = stats.getAssignTime();
+            // A vehicle that took a ride stays in the queue, at the step at which it is free again.
+            // A vehicle that cannot take any ride now will not be able to later either
+            if (findEarliestRide(vehicle, ridesInOrder, nextInOrder)) {
+                freeVehicles.update(vehicle, fleet.getFreeAt(vehicle), vehicle);
+            } else {
+                freeVehicles.poll();
+                stats.addIdleVehicleStep();
             }
+            stats.addSearchTime(System.nanoTime() - searchStart - (stats.getAssignTime() - assignTime));
         }
+        stats.finish("event", start);
     }
 
     /**
-     * Remove rides that are impossible to complete from the list at this current step.
+     * Move the rides that can be started at or before this step from the head of the order into the pending rides,
+     * leaving out the rides that can no longer be started in time.
      *
      * @param currentStep The current step of the simulation
+     * @param ridesInOrder The IDs of the rides, ordered by earliest start
+     * @param nextInOrder The position after each position of ridesInOrder still linked, counting from 1,
+     *                    with 0 as the head and the end
+     * @param cells The cell of the grid of each location
+     */
+    private void releaseInOrder(int currentStep, int[] ridesInOrder, int[] nextInOrder, int[] cells) {
+        for (int position = nextInOrder[0]; position != 0; position = nextInOrder[position]) {
+            int ride = ridesInOrder[position - 1];
+            if (rides.getEarliestStart(ride) > currentStep) {
+                break;
+            }
+            if (rides.getLatestStart(ride) >= currentStep) {
+                pendingRides.addToCell(ride, cells[rides.getPickupLocation(ride)]);
+            }
+            nextInOrder[0] = nextInOrder[position];
+        }
+    }
+
+    /**
+     * Solve with each of the policies at the same time, on copies of this world, and keep the allocation
+     * with the best score.
+     *
+     * @param policies The rules for choosing the best ride for a vehicle, the first is kept on a tie
+     */
+    public void solvePortfolio(List<RidePolicy> policies) {
+        List<World> worlds = policies.stream()
+                .map(p -> new World(this, p))
+                .collect(Collectors.toList());
+        long[] scores = worlds.parallelStream()
+                .mapToLong(world -> {
+                    world.solve();
+                    return world.score();
+                })
+                .toArray();
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        fleet = worlds.get(best).fleet;
+        stats = worlds.get(best).stats;
+    }
+
+    /**
+     * Solve with the tick and the event-driven solvers, keep the better allocation, then rebuild its routes as chains
+     * of rides that score the most points together, in rounds. A round is only kept if it raises the score, so the
+     * result never scores below either solver. In each round the rides in a route are planned to start when they start now, so the new
+     * routes score at least as much as the old ones, and the round after plans around the new routes. The other rides
+     * are planned at their earliest start in one round, their latest start in the next and halfway in the one after,
+     * since each plan lets them fit into different gaps. The rounds stop once no plan raises the score.
+     */
+    public void solveChainCover() {
+        long start = System.nanoTime();
+        World tick = new World(this, policy);
+        tick.solve();
+        solveEventDriven();
+        if (tick.score() > score()) {
+            fleet = tick.fleet;
+        }
+        stats = new SolverStats();
+        ChainCover cover = new ChainCover(rides, buildRideGraph(), bonus, noOfSteps);
+        RouteScorer scorer = new RouteScorer(fleet, rides, bonus, noOfSteps);
+        int[] plannedStarts = new int[rides.size()];
+        int idleRounds = 0;
+        for (int round = 0; round < CHAIN_ROUNDS && idleRounds < PLAN_QUARTERS.length; round++) {
+            long searchStart = System.nanoTime();
+            int quarters = PLAN_QUARTERS[round % PLAN_QUARTERS.length];
+            for (int rid = 0; rid < rides.size(); rid++) {
+                int slack = rides.getLatestStart(rid) - rides.getEarliestStart(rid);
+                plannedStarts[rid] = rides.getEarliestStart(rid) + (int) ((long) slack * quarters / 4);
+            }
+            int[][] routes = new int[fleet.size()][];
+            for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+                routes[vehicle] = new int[scorer.getRouteLength(vehicle)];
+                for (int i = 0; i < routes[vehicle].length; i++) {
+                    int rid = scorer.getRide(vehicle, i);
+                    routes[vehicle][i] = rid;
+                    plannedStarts[rid] = scorer.getFinishStep(vehicle, i) - rides.getDistance(rid);
+                }
+            }
+            int[][] chains = cover.cover(routes, plannedStarts);
+            long assignStart = System.nanoTime();
+            stats.addSearchTime(assignStart - searchStart);
+            RouteScorer next = new RouteScorer(rides, bonus, noOfSteps, fleet.size());
+            for (int vehicle = 0; vehicle < chains.length; vehicle++) {
+                next.setRoute(vehicle, chains[vehicle], chains[vehicle].length);
+            }
+            stats.addAssignTime(System.nanoTime() - assignStart);
+            stats.addTick();
+            if (next.getTotalScore() <= scorer.getTotalScore()) {
+                idleRounds++;
+                continue;
+            }
+            idleRounds = 0;
+            scorer = next;
+        }
+        adoptRoutes(scorer);
+        stats.finish("chain", start);
+    }
+
+    /**
+     * @return The score of the current allocation, the same as the score stage1 gives it
      */
-    private void removeImpossibleRide(int currentStep) {
-        for (Iterator<Ride> iterator = rides.iterator(); iterator.hasNext();) {
-            Ride ride = iterator.next();
-            // If ride is not possible
-            if (ride.getLatestStart() < currentStep) {
-                // Remove the current element from the iterator and the list.
-                iterator.remove();
+    public long score() {
+        return new RouteScorer(fleet, rides, bonus, noOfSteps).getTotalScore();
+    }
+
+    /**
+     * Find which rides can follow each other, looking for successors up to a tenth of the size of the city away
+     * and a tenth of the simulation later.
+     *
+     * @return The graph of the rides
+     */
+    public RideGraph buildRideGraph() {
+        return new RideGraph(rides, rows, cols, GRAPH_SUCCESSORS, Math.max(1, (rows + cols) / 10),
+                Math.max(1, noOfSteps / 10));
+    }
+
+    /**
+     * @return The work done by the last solve
+     */
+    public SolverStats getStats() {
+        return stats;
+    }
+
+    public void setPolicy(RidePolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Improve the routes found by a solver with local search, moving rides between vehicles.
+     *
+     * @param timeLimit The number of milliseconds the search may take
+     */
+    public void improve(long timeLimit) {
+        improve(timeLimit, null);
+    }
+
+    /**
+     * Improve the routes found by a solver with local search until the time limit.
+     * Whenever the search runs out of improving moves, it starts again from the best routes with a few rides taken
+     * out, and the new routes are kept only if they score higher. The best routes are saved to the checkpoint
+     * as they improve, at most once per Checkpoint.SAVE_INTERVAL, and once more at the end.
+     *
+     * @param timeLimit The number of milliseconds the search may take
+     * @param checkpoint Where the best routes are saved, or null to keep them in memory only
+     */
+    public void improve(long timeLimit, Checkpoint checkpoint) {
+        long deadline = System.nanoTime() + timeLimit * 1_000_000L;
+        RouteScorer scorer = new RouteScorer(fleet, rides, bonus, noOfSteps);
+        // Moves are only tried between rides a tenth of the size of the city apart
+        int proximity = Math.max(1, (rows + cols) / 10);
+        LocalSearch search = new LocalSearch(scorer, rides, rows, cols, proximity);
+        search.run(deadline, improvement -> {
+            if (checkpoint != null && checkpoint.isDue()) {
+                saveCheckpoint(scorer, checkpoint);
+            }
+        });
+        long bestScore = scorer.getTotalScore();
+        int[][] best = search.snapshot();
+        while (System.nanoTime() < deadline && search.countAssigned() > 0) {
+            search.perturb(Math.max(1, search.countAssigned() / PERTURBATION_FRACTION));
+            search.run(deadline);
+            if (scorer.getTotalScore() > bestScore) {
+                bestScore = scorer.getTotalScore();
+                best = search.snapshot();
+                if (checkpoint != null && checkpoint.isDue()) {
+                    saveCheckpoint(scorer, checkpoint);
+                }
+            } else {
+                search.restore(best);
             }
         }
+        adoptRoutes(scorer);
+        if (checkpoint != null) {
+            saveCheckpoint(scorer, checkpoint);
+        }
     }
 
     /**
-     * Find the best ride for this vehicle at this particular time
+     * Save the routes of a scorer to a checkpoint, and report a failure to save without stopping the search.
+     */
+    private void saveCheckpoint(RouteScorer scorer, Checkpoint checkpoint) {
+        adoptRoutes(scorer);
+        try {
+            checkpoint.save(this);
+        } catch (IOException e) {
+            System.err.println("A problem was encountered writing the checkpoint: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the routes of the fleet with the routes of a scorer.
+     */
+    private void adoptRoutes(RouteScorer scorer) {
+        for (int vehicle = 0; vehicle < fleet.size(); vehicle++) {
+            int length = scorer.getRouteLength(vehicle);
+            int[] route = new int[length];
+            for (int i = 0; i < length; i++) {
+                route[i] = scorer.getRide(vehicle, i);
+            }
+            fleet.setRoute(vehicle, route, length, scorer.stepBefore(vehicle, length));
+        }
+    }
+
+    /**
+     * Find the best ride for this vehicle at this particular time, the one the policy gives the lowest cost.
      *
      * @param currentTime
-     * @param vehicle The vehicle to be evaluated
+     * @param vehicle The ID of the vehicle to be evaluated
      */
-    private void findBestRide(int currentTime, Vehicle vehicle) {
-        Ride bestRide = null;
-        int bestStartTime = 0;
+    private void findBestRide(int currentTime, int vehicle) {
+        int count = findFeasibleRides(currentTime, vehicle, candidates, feasible, stats);
+        int bestRide = selectBestRide(vehicle, feasible, count, null);
+
+        if (bestRide >= 0) {  // Check if valid
+            addBestRide(vehicle, bestRide, startTime(vehicle, bestRide));
+        } else {
+            stats.addIdleVehicleStep();
+        }
+    }
+
+    /**
+     * Choose the ride the policy gives the lowest cost, among the feasible rides of a vehicle.
+     *
+     * @param vehicle The ID of the vehicle
+     * @param feasible The IDs of the rides the vehicle could take
+     * @param count The number of rides in feasible
+     * @param claims The vehicle that claimed each ride plus 1, or 0 if the ride is free, so that claimed rides are
+     *               skipped, or null to consider every ride
+     * @return The ID of the best ride, or -1 if there is none
+     */
+    private int selectBestRide(int vehicle, int[] feasible, int count, AtomicIntegerArray claims) {
+        int bestRide = -1;
+        long bestCost = 0;
+        int freeAt = fleet.getFreeAt(vehicle);
+        for (int i = 0; i < count; i++) {
+            int ride = feasible[i];
+            if (claims != null && claims.get(ride) != 0) {
+                continue;
+            }
+            int vehicleToStart = freeAt + fleet.distanceToRideStart(vehicle, ride);
+            long cost = policy.cost(rides, ride, freeAt, vehicleToStart, bonus);
+            if (bestRide < 0 || cost < bestCost || (cost == bestCost && comesBefore(ride, bestRide))) {
+                bestRide = ride;
+                bestCost = cost;
+            }
+        }
+        return bestRide;
+    }
+
+    /**
+     * Give a free vehicle the best ride no other vehicle has claimed, for the concurrent solver.
+     * Only the route of the vehicle and the claims are written, so different vehicles can be dispatched at once.
+     *
+     * @param currentTime
+     * @param vehicle The ID of the vehicle
+     * @param dispatcher The buffers and counts of the thread
+     * @param claims The vehicle that claimed each ride plus 1, or 0 if the ride is free
+     */
+    private void dispatch(int currentTime, int vehicle, Dispatcher dispatcher, AtomicIntegerArray claims) {
+        int count = findFeasibleRides(currentTime, vehicle, dispatcher.candidates, dispatcher.feasible,
+                dispatcher.counts);
+        while (true) {
+            int bestRide = selectBestRide(vehicle, dispatcher.feasible, count, claims);
+            if (bestRide < 0) {
+                dispatcher.counts.addIdleVehicleStep();
+                return;
+            }
+            // A ride claimed by another vehicle since it was selected is skipped by the next selection
+            if (claims.compareAndSet(bestRide, 0, vehicle + 1)) {
+                int endTime = startTime(vehicle, bestRide) + rides.getDistance(bestRide);
+                if (endTime < rides.getLatestFinish(bestRide) && endTime < noOfSteps) {
+                    fleet.addRide(vehicle, bestRide, endTime);
+                    dispatcher.claimed[dispatcher.noOfClaimed++] = bestRide;
+                    dispatcher.counts.addAssignment();
+                } else {
+                    // Like addBestRide, a ride that would finish after the simulation is left for a later step
+                    claims.set(bestRide, 0);
+                    dispatcher.counts.addIdleVehicleStep();
+                }
+                return;
+            }
+        }
+    }
 
-        for (Ride ride : rides) {
-            // If this ride could start at currentTime
-            if (ride.getEarliestStart() <= currentTime) {
+    /**
+     * Find the rides this vehicle could have started by this particular time and still finish in time,
+     * and put their IDs in the feasible buffer.
+     * Only the cells of the grid that the vehicle could have reached by now are searched.
+     * The pending rides are only read, so vehicles can be searched for at the same time with their own buffers.
+     *
+     * @param currentTime
+     * @param vehicle The ID of the vehicle to be evaluated
+     * @param candidates Buffer for the IDs of the rides found in the grid
+     * @param feasible Buffer for the IDs of the rides the vehicle could take
+     * @param counts Where the rides scanned and found are counted
+     * @return The number of rides found
+     */
+    private int findFeasibleRides(int currentTime, int vehicle, int[] candidates, int[] feasible,
+                                  SolverStats counts) {
+        int found = 0;
+        int x = fleet.getX(vehicle);
+        int y = fleet.getY(vehicle);
+        int freeAt = fleet.getFreeAt(vehicle);
+        // How far the vehicle could have driven since it became free
+        int reach = currentTime - freeAt;
+        // When there are only a few pending rides, going through all of them is cheaper than searching the grid
+        boolean scanAll = pendingRides.isSparse(x, y, reach);
+        int maxRing = scanAll ? 0 : pendingRides.maxRing(x, y);
+
+        // The step at which a pending ride the vehicle cannot take yet comes within reach and is released
+        int reachableAt = Integer.MAX_VALUE;
+
+        // Stop once every pending ride has been seen, or the remaining cells are out of reach
+        int ring = 0;
+        int seen = 0;
+        for (; ring <= maxRing && seen < pendingRides.size()
+                && (scanAll || pendingRides.ringDistance(x, y, ring) <= reach); ring++) {
+            int count = scanAll ? pendingRides.collectAll(candidates)
+                    : pendingRides.collectRing(x, y, ring, candidates);
+            seen += count;
+            counts.addRidesScanned(count);
+            for (int i = 0; i < count; i++) {
+                int ride = candidates[i];
+                int earliestStart = rides.getEarliestStart(ride);
                 // Finds out the step where the vehicle drove to the starting point of the ride
-                int vehicleToStart = vehicle.getCurrentStep() + vehicle.distanceToRideStart(ride);
-                int rideLatestFinish = ride.getLatestFinish();
-                // If the starting step of the ride is less than currentTime and the latest finish
-                if (vehicleToStart <= currentTime && vehicleToStart <= rideLatestFinish) {
-                    // If the ride could be finished before the latest finish
-                    if (vehicle.arrival(ride) < rideLatestFinish) {
-                        if (bestRide == null || ride.getDistance() < bestRide.getDistance()) {
-                            bestRide = ride;
-                            bestStartTime = Math.max(vehicleToStart, ride.getEarliestStart());
-                        }
+                int vehicleToStart = freeAt + fleet.distanceToRideStart(vehicle, ride);
+                int rideLatestFinish = rides.getLatestFinish(ride);
+                int startTime = Math.max(vehicleToStart, earliestStart);
+                // If the ride could be started before its latest finish and finished before it, which does not
+                // depend on the current step
+                if (vehicleToStart <= rideLatestFinish && startTime + rides.getDistance(ride) < rideLatestFinish) {
+                    // If this ride could start at currentTime, and the vehicle could have driven to it by then
+                    if (earliestStart <= currentTime && vehicleToStart <= currentTime) {
+                        feasible[found++] = ride;
+                    } else {
+                        reachableAt = Math.min(reachableAt, startTime);
                     }
                 }
-            } else {
+            }
+        }
+        // The rides in the rings left are further away than any ring searched
+        if (!scanAll && ring <= maxRing && seen < pendingRides.size()) {
+            reachableAt = (int) Math.min(reachableAt, (long) freeAt + pendingRides.ringDistance(x, y, ring));
+        }
+        // A vehicle that found rides but took none may take one of them at the next step
+        nextSearch[vehicle] = found > 0 ? currentTime + 1 : reachableAt;
+        counts.addFeasibleRides(found);
+        return found;
+    }
+
+    /**
+     * @return The cost of a vehicle taking a ride in a batch assignment, the steps the vehicle spends driving to
+     *         the ride and waiting for it, plus the bonus lost if the ride cannot be started on time
+     */
+    private long batchCost(int vehicle, int ride) {
+        int vehicleToStart = fleet.getFreeAt(vehicle) + fleet.distanceToRideStart(vehicle, ride);
+        int earliestStart = rides.getEarliestStart(ride);
+        return Math.max(vehicleToStart, earliestStart) - fleet.getFreeAt(vehicle)
+                + (vehicleToStart <= earliestStart ? 0 : bonus);
+    }
+
+    /**
+     * @return The step at which a vehicle can start a ride, after driving to it and waiting for its earliest start
+     */
+    private int startTime(int vehicle, int ride) {
+        return Math.max(fleet.getFreeAt(vehicle) + fleet.distanceToRideStart(vehicle, ride),
+                rides.getEarliestStart(ride));
+    }
+
+    /**
+     * Find the ride this vehicle can start the earliest, preferring the shorter ride on a tie,
+     * and assign it to the vehicle. The vehicle must be free at the current step.
+     * A released ride can be started as soon as the vehicle gets to it, so the grid is searched ring by ring
+     * until the rings left are too far to start sooner. The rides not released yet are then gone through in order
+     * of earliest start, until no remaining ride could start sooner.
+     *
+     * @param vehicle The ID of the vehicle to be evaluated
+     * @param ridesInOrder The IDs of the rides, ordered by earliest start
+     * @param nextInOrder The position after each position of ridesInOrder still linked, counting from 1,
+     *                    with 0 as the head and the end
+     * @return true if a ride was assigned to the vehicle, false otherwise
+     */
+    private boolean findEarliestRide(int vehicle, int[] ridesInOrder, int[] nextInOrder) {
+        int bestRide = -1;
+        int bestStartTime = 0;
+        // The position of the best ride in the order and the position linked before it, or 0 if it was released
+        int bestPosition = 0;
+        int bestPrevious = 0;
+        int freeAt = fleet.getFreeAt(vehicle);
+        int x = fleet.getX(vehicle);
+        int y = fleet.getY(vehicle);
+        int read = 0;
+
+        int maxRing = pendingRides.maxRing(x, y);
+        int seen = 0;
+        for (int ring = 0; ring <= maxRing && seen < pendingRides.size()
+                && (bestRide < 0 || freeAt + pendingRides.ringDistance(x, y, ring) <= bestStartTime); ring++) {
+            // Once the rings searched hold more cells than there are rides, going through all of them is cheaper
+            boolean scanAll = (long) (2 * ring + 1) * (2 * ring + 1) > pendingRides.size();
+            int count = scanAll ? pendingRides.collectAll(candidates)
+                    : pendingRides.collectRing(x, y, ring, candidates);
+            seen = scanAll ? pendingRides.size() : seen + count;
+            read += count;
+            for (int i = 0; i < count; i++) {
+                int ride = candidates[i];
+                int startTime = Math.max(freeAt + fleet.distanceToRideStart(vehicle, ride),
+                        rides.getEarliestStart(ride));
+                if (canFinish(ride, startTime)) {
+                    stats.addFeasibleRides(1);
+                    if (startsEarlier(ride, startTime, bestRide, bestStartTime)) {
+                        bestRide = ride;
+                        bestStartTime = startTime;
+                    }
+                }
+            }
+        }
+
+        for (int position = nextInOrder[0], previous = 0; position != 0;
+                previous = position, position = nextInOrder[position]) {
+            int ride = ridesInOrder[position - 1];
+            int earliestStart = rides.getEarliestStart(ride);
+            // None of the remaining rides can start sooner
+            if (bestRide >= 0 && earliestStart > bestStartTime) {
                 break;
             }
+            read++;
+            int startTime = Math.max(freeAt + fleet.distanceToRideStart(vehicle, ride), earliestStart);
+            if (canFinish(ride, startTime)) {
+                stats.addFeasibleRides(1);
+                if (startsEarlier(ride, startTime, bestRide, bestStartTime)) {
+                    bestRide = ride;
+                    bestStartTime = startTime;
+                    bestPosition = position;
+                    bestPrevious = previous;
+                }
+            }
         }
+        stats.addRidesScanned(read);
 
-        if (bestRide != null) {  // Check if valid
-            addBestRide(vehicle, bestRide, bestStartTime);
+        if (bestRide < 0) {
+            return false;
         }
+        // A ride taken before it is released is unlinked, as it is not in the grid to be removed from
+        if (bestPosition != 0) {
+            nextInOrder[bestPrevious] = nextInOrder[bestPosition];
+        }
+        addBestRide(vehicle, bestRide, bestStartTime);
+        return true;
+    }
+
+    /**
+     * @return true if a ride started at this step could be finished before its latest finish and the end of the
+     *         simulation, false otherwise
+     */
+    private boolean canFinish(int ride, int startTime) {
+        int endTime = startTime + rides.getDistance(ride);
+        return endTime < rides.getLatestFinish(ride) && endTime < noOfSteps;
+    }
+
+    /**
+     * @return true if a ride starting at a step should be chosen over the best ride found so far, which is the
+     *         ride that starts first, then the shorter ride, then the ride that comes first, false otherwise
+     */
+    private boolean startsEarlier(int ride, int startTime, int bestRide, int bestStartTime) {
+        if (bestRide < 0 || startTime != bestStartTime) {
+            return bestRide < 0 || startTime < bestStartTime;
+        }
+        int distance = rides.getDistance(ride);
+        int bestDistance = rides.getDistance(bestRide);
+        return distance < bestDistance || (distance == bestDistance && comesBefore(ride, bestRide));
+    }
+
+    /**
+     * Break ties between equally good rides the same way regardless of the order they are found in,
+     * by the natural order of rides and then by ride ID.
+     *
+     * @param ride The ID of the ride being considered
+     * @param other The ID of the best ride found so far
+     * @return true if the ride should be chosen over the other ride, false otherwise
+     */
+    private boolean comesBefore(int ride, int other) {
+        int compare = rides.compare(ride, other);
+        return compare < 0 || (compare == 0 && ride < other);
     }
 
-    private void addBestRide(Vehicle vehicle, Ride bestRide, int bestStartTime) {
+    private void addBestRide(int vehicle, int bestRide, int bestStartTime) {
+        long start = System.nanoTime();
         // Find the earliest finishing time for the best ride
-        int bestRideEndTime = bestStartTime + bestRide.getDistance();
+        int bestRideEndTime = bestStartTime + rides.getDistance(bestRide);
         // Complete ride on time
-        if (bestRideEndTime < bestRide.getLatestFinish()) {
+        if (bestRideEndTime < rides.getLatestFinish(bestRide)) {
             if (bestRideEndTime < noOfSteps) {
                 // Add ride to car
-                vehicle.addRide(bestRide, bestRideEndTime);
-                rides.remove(bestRide);
+                fleet.addRide(vehicle, bestRide, bestRideEndTime);
+                pendingRides.remove(bestRide);
+                stats.addAssignment();
             }
         }
+        stats.addAssignTime(System.nanoTime() - start);
+    }
+
+    /**
+     * @return A TickEvent that has begun, or null if no Java Flight Recorder recording enables it at this step
+     */
+    private TickEvent startTick() {
+        TickEvent tick = new TickEvent();
+        if (!tick.isEnabled()) {
+            return null;
+        }
+        tick.begin();
+        return tick;
+    }
+
+    /**
+     * Record a step of a solver as a TickEvent, if a recording still enables it and the step took long enough.
+     */
+    private void commitTick(TickEvent tick, int step, int freeVehicles, long ridesScanned) {
+        if (tick == null) {
+            return;
+        }
+        tick.end();
+        if (tick.shouldCommit()) {
+            tick.step = step;
+            tick.freeVehicles = freeVehicles;
+            tick.pendingRides = pendingRides.size();
+            tick.ridesScanned = ridesScanned;
+            tick.commit();
+        }
+    }
+
+    /**
+     * The buffers and counts of one thread of the concurrent solver, with the rides it claimed at the current step.
+     */
+    private static class Dispatcher
+    {
+        private int[] candidates;
+        private int[] feasible;
+        private int[] claimed;
+        private int noOfClaimed;
+        private SolverStats counts;
+
+        Dispatcher(int noOfRides, int noOfVehicles) {
+            candidates = new int[noOfRides];
+            feasible = new int[noOfRides];
+            claimed = new int[noOfVehicles];
+            counts = new SolverStats();
+        }
     }
 }
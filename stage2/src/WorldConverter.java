@@ -0,0 +1,25 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Convert an input file to a binary world, that both stages load without parsing.
+ */
+public class WorldConverter
+{
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: WorldConverter <input file> <binary file>");
+            System.exit(1);
+        }
+        int[] world = new InputReader().parseWorld(args[0]);
+        if (world.length < InputReader.HEADER_LENGTH) {
+            System.exit(1);
+        }
+        try {
+            BinaryWorld.write(world, Paths.get(args[1]));
+        } catch (IOException e) {
+            System.err.println("A problem was encountered writing the file: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.Consumer;
+
+
+public class WorldTest {
+
+    private Path file;
+    private World world;
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp() throws Exception {
+        // Many vehicles after few rides on a 50 x 50 grid, so that vehicles often want the same ride
+        Random random = new Random(1);
+        StringBuilder input = new StringBuilder("50 50 200 1000 5 500\n");
+        for (int rid = 0; rid < 1000; rid++) {
+            int earliestStart = random.nextInt(400);
+            input.append(random.nextInt(50)).append(' ').append(random.nextInt(50)).append(' ')
+                    .append(random.nextInt(50)).append(' ').append(random.nextInt(50)).append(' ')
+                    .append(earliestStart).append(' ').append(earliestStart + 100).append('\n');
+        }
+        file = Files.createTempFile("world", ".in");
+        Files.write(file, input.toString().getBytes());
+        world = new World(file.toString());
+        world.initialise();
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test that the concurrent solver gives no ride to two vehicles, and assigns as many rides as it counts
+     */
+    @Test
+    public void testConcurrentAllocationIsConflictFree() throws Exception {
+        world.solveConcurrent();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        world.writeSolution(new SolutionWriter(out));
+        boolean[] assigned = new boolean[1000];
+        int noOfAssigned = 0;
+        for (String line : out.toString().split("\n")) {
+            String[] fields = line.split(" ");
+            assertEquals(Integer.parseInt(fields[0]), fields.length - 1);
+            for (int i = 1; i < fields.length; i++) {
+                int rid = Integer.parseInt(fields[i]);
+                assertFalse(assigned[rid]);
+                assigned[rid] = true;
+                noOfAssigned++;
+            }
+        }
+        assertTrue(noOfAssigned > 0);
+        assertEquals(noOfAssigned, world.getStats().getAssignments());
+        assertTrue(world.score() > 0);
+    }
+
+    /**
+     * Test that on small worlds where every vehicle can only take its rides one after the other, the event-driven
+     * solver gives the same allocation as the tick solver, whether the rides are released before or after the
+     * vehicles are free
+     */
+    @Test
+    public void testEventDrivenSameAsTick() throws Exception {
+        // The example of the problem statement
+        assertEquals(solution("3 4 2 3 2 10\n0 0 1 3 2 9\n1 2 1 0 0 9\n2 0 2 2 0 9\n", World::solve),
+                solution("3 4 2 3 2 10\n0 0 1 3 2 9\n1 2 1 0 0 9\n2 0 2 2 0 9\n", World::solveEventDriven));
+        // Two chains of rides, with rides that are released after the vehicles are free, a ride that cannot be
+        // reached in time and a ride too long for its time window
+        String input = "10 10 2 6 1 40\n0 1 0 5 1 10\n0 5 5 5 5 20\n5 5 5 9 10 30\n9 9 9 5 0 15\n"
+                + "9 5 5 5 4 25\n3 3 4 4 30 31\n";
+        String tick = solution(input, World::solve);
+        assertEquals("2 0 2\n2 1 4\n", tick);
+        assertEquals(tick, solution(input, World::solveEventDriven));
+    }
+
+    /**
+     * Test that on a world the size of d, the tick solver only searches again for an idle vehicle once a ride it could
+     * take has come within its reach or been released
+     */
+    @Test
+    public void testTickSearchesIdleVehiclesRarely() throws Exception {
+        World world = createLargeWorld();
+        world.solve();
+        SolverStats stats = world.getStats();
+        assertTrue(stats.getAssignments() > 0);
+        // Searching for every free vehicle at every step makes over 3M idle vehicle-steps and scans over 600M rides
+        assertTrue(stats.getIdleVehicleSteps() < 200_000);
+        assertTrue(stats.getRidesScanned() < 60_000_000);
+    }
+
+    /**
+     * Test that on a world the size of d, the batch solver leaves idle vehicles out of the matching until a ride they
+     * could take has come within their reach or been released
+     */
+    @Test
+    public void testBatchSearchesIdleVehiclesRarely() throws Exception {
+        World world = createLargeWorld();
+        world.solveBatch();
+        SolverStats stats = world.getStats();
+        assertTrue(stats.getAssignments() > 0);
+        // Matching every free vehicle at every step makes over 3M idle vehicle-steps and scans over 600M rides
+        assertTrue(stats.getIdleVehicleSteps() < 300_000);
+        assertTrue(stats.getRidesScanned() < 150_000_000);
+    }
+
+    /**
+     * Test that the concurrent solver stops scanning the pending rides for vehicles that cannot reach any of them
+     */
+    @Test
+    public void testConcurrentSkipsVehiclesThatCannotReachRides() throws Exception {
+        // 32 vehicles, enough to be searched for in parallel, and 400 rides 300 steps away from them that can no
+        // longer be started after step 248. The grid has cells of 100 x 100, so the rides are in the ring of cells
+        // around the vehicles, which they could have reached from step 100 if the rides were closer in their cells
+        StringBuilder input = new StringBuilder("1000 1000 32 400 5 1000\n");
+        for (int rid = 0; rid < 400; rid++) {
+            input.append("150 150 151 151 0 250\n");
+        }
+        Files.write(file, input.toString().getBytes());
+        World world = new World(file.toString());
+        world.initialise();
+        world.solveConcurrent();
+        SolverStats stats = world.getStats();
+        assertEquals(0, stats.getAssignments());
+        assertTrue(stats.getTicks() > 240);
+        // Searching for every vehicle at every step from step 100 scans over 5000 rides per step, while each
+        // vehicle goes through the rides once and is left out from then on, which is fewer rides per step than
+        // a single search
+        assertTrue(stats.getRidesScanned() <= 32 * 400);
+        assertTrue(stats.getRidesScanned() / stats.getTicks() < 400);
+    }
+
+    /**
+     * Solve a world with a solver and write its allocation.
+     *
+     * @param input The contents of the input file
+     * @param solver The solver
+     * @return The allocation, in the format of writeSolution
+     */
+    private String solution(String input, Consumer<World> solver) throws Exception {
+        Files.write(file, input.getBytes());
+        World world = new World(file.toString());
+        world.initialise();
+        solver.accept(world);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        world.writeSolution(new SolutionWriter(out));
+        return out.toString();
+    }
+
+    /**
+     * Generate a world the size of d, 400 vehicles and 10000 rides on a 10000 x 10000 grid over 50000 steps, which
+     * are the generator defaults. Like d, most rides start around a few hotspots.
+     */
+    private World createLargeWorld() throws Exception {
+        GeneratorOptions options = new GeneratorOptions();
+        options.setSpatial(GeneratorOptions.Spatial.HOTSPOTS);
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        new InputGenerator(options).write(input);
+        Path large = Files.createTempFile("world", ".in");
+        try {
+            Files.write(large, input.toByteArray());
+            World world = new World(large.toString());
+            world.initialise();
+            return world;
+        } finally {
+            Files.deleteIfExists(large);
+        }
+    }
+}